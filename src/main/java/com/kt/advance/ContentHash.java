@@ -0,0 +1,88 @@
+package com.kt.advance;
+
+import java.util.Collection;
+
+import com.kt.advance.xml.model.IndexedStrignTable;
+import com.kt.advance.xml.model.IndexedTableNode;
+
+/**
+ * Streaming 64-bit FNV-1a hash. Used to fingerprint analysis content (dictionary
+ * tables, proof obligations) without rendering it.
+ */
+public final class ContentHash {
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME        = 0x100000001b3L;
+
+    private long hash = OFFSET_BASIS;
+
+    public ContentHash add(int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= PRIME;
+        }
+        return this;
+    }
+
+    public ContentHash add(long value) {
+        add((int) value);
+        return add((int) (value >>> 32));
+    }
+
+    public ContentHash add(Integer value) {
+        return add(value == null ? -1 : value.intValue());
+    }
+
+    public ContentHash add(Integer[] values) {
+        if (values == null) {
+            return add(-1);
+        }
+        add(values.length);
+        for (final Integer v : values) {
+            add(v);
+        }
+        return this;
+    }
+
+    public ContentHash add(String value) {
+        if (value == null) {
+            return add(-1);
+        }
+        add(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            hash ^= c & 0xff;
+            hash *= PRIME;
+            hash ^= c >>> 8;
+            hash *= PRIME;
+        }
+        return this;
+    }
+
+    public ContentHash add(Enum<?> value) {
+        return add(value == null ? null : value.name());
+    }
+
+    public ContentHash addNodes(Collection<IndexedTableNode> nodes) {
+        add(nodes.size());
+        for (final IndexedTableNode node : nodes) {
+            add(node.index).add(node.tags).add(node.arguments);
+        }
+        return this;
+    }
+
+    public ContentHash addStrings(Collection<IndexedStrignTable> nodes) {
+        add(nodes.size());
+        for (final IndexedStrignTable node : nodes) {
+            add(node.index).add(node.value);
+        }
+        return this;
+    }
+
+    public long get() {
+        return hash;
+    }
+
+    public String toHex() {
+        return String.format("%016x", hash);
+    }
+}
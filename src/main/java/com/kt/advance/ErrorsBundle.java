@@ -1,9 +1,9 @@
 package com.kt.advance;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,19 +18,28 @@ public class ErrorsBundle {
 
     private boolean verbose = true;
 
-    private Map<String, List<String>> errors = new HashMap<>();
+    private Map<String, List<String>> errors = new TreeMap<>();
 
-    public Map<String, List<String>> getErrors() {
-        return errors;
+    /**
+     * @return a copy, safe to iterate while errors are still added
+     */
+    public synchronized Map<String, List<String>> getErrors() {
+        final Map<String, List<String>> copy = new TreeMap<>();
+        errors.forEach((key, list) -> copy.put(key, new ArrayList<>(list)));
+        return copy;
     }
 
     private int errorsCount = 0;
 
-    public void reset() {
-        this.errors = new HashMap<>();
+    public synchronized void reset() {
+        this.errors = new TreeMap<>();
+        this.errorsCount = 0;
     }
 
-    public void addError(String key, String error) {
+    /**
+     * may be called from several threads, e.g. by lazily read function XMLs
+     */
+    public synchronized void addError(String key, String error) {
 
         final List<String> list = errors.computeIfAbsent(key, k -> new ArrayList<>());
         list.add(error);
@@ -38,15 +47,15 @@ public class ErrorsBundle {
 
     }
 
-    public int getErrorsCount() {
+    public synchronized int getErrorsCount() {
         return errorsCount;
     }
 
-    public int getErrorsKeysCount() {
+    public synchronized int getErrorsKeysCount() {
         return this.errors.size();
     }
 
-    public void print() {
+    public synchronized void print() {
         if (!verbose) {
             return;
         }
@@ -0,0 +1,306 @@
+/*
+ * KT Advance
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ */
+package com.kt.advance;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.base.Preconditions;
+
+/**
+ * Table of long counters: one row per key, a fixed set of named columns.
+ *
+ * Each thread counts into its own rows; the partial rows are summed when the
+ * table is read, so {@link #inc(Object, int, long)} may be called from
+ * parallel streams without locking. Reading is meant to happen after
+ * counting is done.
+ *
+ * Keys are sorted by their natural order; use {@link Key} for several
+ * dimensions, e.g. file and predicate.
+ *
+ * @param <K>
+ *            row key
+ */
+public class LongCounter<K extends Comparable<? super K>> {
+
+    /**
+     * composite row key, ordered part by part
+     */
+    public static final class Key implements Comparable<Key> {
+        private final String[] parts;
+
+        private Key(String[] parts) {
+            this.parts = parts;
+        }
+
+        public static Key of(Object... parts) {
+            final String[] strings = new String[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                strings[i] = String.valueOf(parts[i]);
+            }
+            return new Key(strings);
+        }
+
+        public int size() {
+            return parts.length;
+        }
+
+        public String get(int i) {
+            return parts[i];
+        }
+
+        /**
+         * @return the key of the given parts, e.g. for a group-by
+         */
+        public Key project(int... indexes) {
+            final String[] projected = new String[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                projected[i] = parts[indexes[i]];
+            }
+            return new Key(projected);
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            for (int i = 0; i < Math.min(parts.length, o.parts.length); i++) {
+                final int c = parts[i].compareTo(o.parts[i]);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return Integer.compare(parts.length, o.parts.length);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && Arrays.equals(parts, ((Key) obj).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(parts);
+        }
+
+        @Override
+        public String toString() {
+            return String.join("/", parts);
+        }
+    }
+
+    private final String[]             columns;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+    private final ConcurrentLinkedQueue<Map<K, long[]>> partials = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Map<K, long[]>>           partial  = ThreadLocal.withInitial(() -> {
+        final Map<K, long[]> rows = new HashMap<>();
+        partials.add(rows);
+        return rows;
+    });
+
+    private volatile SortedMap<K, long[]> merged = null;
+
+    public LongCounter(String... columns) {
+        Preconditions.checkArgument(columns.length > 0, "no columns");
+        this.columns = columns.clone();
+        for (int i = 0; i < columns.length; i++) {
+            columnIndexes.put(columns[i], i);
+        }
+    }
+
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    public int getColumn(String name) {
+        final Integer col = columnIndexes.get(name);
+        Preconditions.checkArgument(col != null, "no column %s", name);
+        return col;
+    }
+
+    public void inc(K key, int col, long inc) {
+        partial.get().computeIfAbsent(key, k -> new long[columns.length])[col] += inc;
+        invalidate();
+    }
+
+    public void inc(K key, String col, long inc) {
+        inc(key, getColumn(col), inc);
+    }
+
+    /**
+     * adds a row of zeros, unless the key is already counted
+     */
+    public void touch(K key) {
+        partial.get().computeIfAbsent(key, k -> new long[columns.length]);
+        invalidate();
+    }
+
+    /**
+     * reads before writing, so that counting threads do not keep writing the
+     * shared field
+     */
+    private void invalidate() {
+        if (merged != null) {
+            merged = null;
+        }
+    }
+
+    /**
+     * @return the summed rows, sorted by key
+     */
+    public SortedMap<K, long[]> rows() {
+        SortedMap<K, long[]> rows = merged;
+        if (rows == null) {
+            final TreeMap<K, long[]> sum = new TreeMap<>();
+            for (final Map<K, long[]> p : partials) {
+                p.forEach((key, values) -> add(sum.computeIfAbsent(key, k -> new long[columns.length]), values));
+            }
+            rows = Collections.unmodifiableSortedMap(sum);
+            merged = rows;
+        }
+        return rows;
+    }
+
+    public long get(K key, int col) {
+        final long[] row = rows().get(key);
+        return row == null ? 0 : row[col];
+    }
+
+    public long get(K key, String col) {
+        return get(key, getColumn(col));
+    }
+
+    /**
+     * @return column totals over all rows
+     */
+    public long[] total() {
+        final long[] total = new long[columns.length];
+        rows().values().forEach(row -> add(total, row));
+        return total;
+    }
+
+    /**
+     * @return a table of the same columns with the rows rolled up by the
+     *         given key, e.g. <code>key -&gt; key.project(0)</code>
+     */
+    public <G extends Comparable<? super G>> LongCounter<G> groupBy(Function<? super K, ? extends G> group) {
+        final LongCounter<G> grouped = new LongCounter<>(columns);
+        final Map<G, long[]> rows = grouped.partial.get();
+        rows().forEach((key, values) -> add(rows.computeIfAbsent(group.apply(key), k -> new long[columns.length]),
+                                            values));
+        return grouped;
+    }
+
+    private static void add(long[] target, long[] values) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += values[i];
+        }
+    }
+
+    /**
+     * writes a header line and one line per row; {@link Key} parts are
+     * separate cells
+     */
+    public void writeSv(Appendable out, String separator) throws IOException {
+        out.append("key");
+        for (final String column : columns) {
+            out.append(separator).append(column);
+        }
+        out.append('\n');
+
+        for (final Map.Entry<K, long[]> row : rows().entrySet()) {
+            final K key = row.getKey();
+            if (key instanceof Key) {
+                out.append(String.join(separator, ((Key) key).parts));
+            }
+            else {
+                out.append(String.valueOf(key));
+            }
+            for (final long value : row.getValue()) {
+                out.append(separator).append(Long.toString(value));
+            }
+            out.append('\n');
+        }
+    }
+
+    public void writeCsv(Appendable out) throws IOException {
+        writeSv(out, ",");
+    }
+
+    /**
+     * [{"key":"main.c","value":[1,0]}, ...]; {@link Key} keys are arrays of
+     * their parts
+     */
+    public void writeJson(Writer out) throws IOException {
+        try (JsonGenerator gen = new JsonFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartArray();
+            for (final Map.Entry<K, long[]> row : rows().entrySet()) {
+                gen.writeStartObject();
+                gen.writeFieldName("key");
+                final K key = row.getKey();
+                if (key instanceof Key) {
+                    gen.writeStartArray();
+                    for (final String part : ((Key) key).parts) {
+                        gen.writeString(part);
+                    }
+                    gen.writeEndArray();
+                }
+                else {
+                    gen.writeString(String.valueOf(key));
+                }
+                gen.writeFieldName("value");
+                gen.writeArray(row.getValue(), 0, columns.length);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public String toSv(String separator) {
+        final StringBuilder sb = new StringBuilder();
+        try {
+            writeSv(sb, separator);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    public String toCsv() {
+        return toSv(",");
+    }
+
+    public List<K> keys() {
+        return new ArrayList<>(rows().keySet());
+    }
+
+}
@@ -29,6 +29,11 @@ import java.util.TreeSet;
 
 import org.apache.commons.lang.StringUtils;
 
+/**
+ * @deprecated boxes every count and is not thread-safe, use
+ *             {@link LongCounter}
+ */
+@Deprecated
 public class MapCounterInt<K> {
     private final Map<String, Integer> columnNamesReverse = new HashMap<>();
     private final String[]             columns;
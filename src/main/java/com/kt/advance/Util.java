@@ -5,6 +5,10 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
@@ -47,6 +51,20 @@ public class Util {
         return val;
     }
 
+    /**
+     * Collects into a key-ordered map, so that iteration (and everything printed
+     * from it) does not depend on hashing. Duplicate keys are rejected like in
+     * {@link #putUniq(Map, Object, Object)}
+     */
+    public static <T, K extends Comparable<K>> Collector<T, ?, TreeMap<K, T>> toSortedMap(
+            Function<? super T, ? extends K> keyMapper) {
+        return Collectors.toMap(keyMapper, v -> v,
+                                (a, b) -> {
+                                    throw new IllegalStateException("non unique key [ value:" + b + "]");
+                                },
+                                TreeMap::new);
+    }
+
     public static String quote(Object i) {
         return quote(i, '\"', '\"');
     }
@@ -8,6 +8,8 @@ import javax.xml.bind.JAXBException;
 
 import com.kt.advance.ErrorsBundle;
 import com.kt.advance.ProgressTracker;
+import com.kt.advance.model.POIndex;
+import com.kt.advance.model.POTextIndex;
 
 public interface CAnalysis {
 
@@ -15,10 +17,29 @@ public interface CAnalysis {
 
     void read(ProgressTracker tracker) throws JAXBException;
 
+    /**
+     * constant-memory alternative to {@link #read(ProgressTracker)}, see
+     * {@link CApplication#stream(ProgressTracker, CAnalysisHandler)}
+     */
+    void stream(ProgressTracker tracker, CAnalysisHandler handler);
+
     String relativize(File f);
 
     Map<File, CApplication> scanForCApps();
 
     ErrorsBundle getErrors();
 
+    /**
+     * @return bitmaps of all POs of all apps; empty unless the analysis was
+     *         {@link #read(ProgressTracker)}
+     */
+    POIndex getPOIndex();
+
+    /**
+     * @return token index of the POs of {@link #getPOIndex()}, built on the
+     *         first call; empty unless the analysis was
+     *         {@link #read(ProgressTracker)}
+     */
+    POTextIndex getTextIndex();
+
 }
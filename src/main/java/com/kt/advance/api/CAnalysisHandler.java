@@ -0,0 +1,25 @@
+package com.kt.advance.api;
+
+/**
+ * Receives the model piece by piece, see
+ * {@link CAnalysis#stream(com.kt.advance.ProgressTracker, CAnalysisHandler)}.
+ * A function is only valid during its {@link #function(CFunction)} call; a
+ * file until its {@link #endFile(CFile)}.
+ */
+public interface CAnalysisHandler {
+
+    default void startApp(CApplication app) {
+    }
+
+    default void startFile(CFile file) {
+    }
+
+    void function(CFunction function);
+
+    default void endFile(CFile file) {
+    }
+
+    default void endApp(CApplication app) {
+    }
+
+}
@@ -2,6 +2,7 @@ package com.kt.advance.api;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -14,6 +15,8 @@ import com.google.common.base.Preconditions;
 import com.kt.advance.ErrorsBundle;
 import com.kt.advance.ProgressTracker;
 import com.kt.advance.model.CApplicationImpl;
+import com.kt.advance.model.POIndex;
+import com.kt.advance.model.POTextIndex;
 
 public class CAnalysisImpl implements CAnalysis {
     static final Logger        LOG = LoggerFactory.getLogger(CApplication.class.getName());
@@ -23,6 +26,13 @@ public class CAnalysisImpl implements CAnalysis {
 
     private final ErrorsBundle errors;
 
+    private POIndex poIndex = POIndex.EMPTY;
+
+    /**
+     * null once read, until first asked for: building it renders every PO
+     */
+    private volatile POTextIndex textIndex = POTextIndex.EMPTY;
+
     public CAnalysisImpl(FsAbstraction fs, ErrorsBundle errors) {
         Preconditions.checkNotNull(fs);
         this.errors = errors;
@@ -54,11 +64,48 @@ public class CAnalysisImpl implements CAnalysis {
         getApps().forEach(app -> {
             app.read(tracker.getSubtaskTracker(inc, "reading " + app.toString()));
         });
+        poIndex = POIndex.build(getApps());
+        textIndex = null;
 
         errors.print();
 
     }
 
+    @Override
+    public void stream(ProgressTracker tracker, CAnalysisHandler handler) {
+
+        tracker.addProgress(0, "Scanning for C-apps");
+        scanForCApps();
+
+        final float inc = 95f / getApps().size();
+        getApps().forEach(app -> {
+            app.stream(tracker.getSubtaskTracker(inc, "streaming " + app.toString()), handler);
+        });
+
+        errors.print();
+
+    }
+
+    @Override
+    public POIndex getPOIndex() {
+        return poIndex;
+    }
+
+    @Override
+    public POTextIndex getTextIndex() {
+        POTextIndex index = textIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = textIndex;
+                if (index == null) {
+                    index = POTextIndex.build(getApps(), poIndex);
+                    textIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
     @Override
     public String relativize(File f) {
         return fs.getBaseDir().toPath().relativize(f.toPath()).toString();
@@ -67,14 +114,21 @@ public class CAnalysisImpl implements CAnalysis {
     @Override
     public Map<File, CApplication> scanForCApps() {
         this.errors.reset();
+        this.poIndex = POIndex.EMPTY;
+        this.textIndex = POTextIndex.EMPTY;
 
         final Collection<File> targetFiles = fs.listSubdirsRecursively(FsAbstraction.ANALYSIS_DIR_NAME);
 
         apps = targetFiles.stream()
+                .sorted()
                 .map(appDir -> new CApplicationImpl(
                         fs.instance(appDir),
                         errors))
-                .collect(Collectors.toMap(CApplication::getSourceDir, app -> app));
+                .collect(Collectors.toMap(CApplication::getSourceDir, app -> app,
+                                          (a, b) -> {
+                                              throw new IllegalStateException("duplicate app " + a.getSourceDir());
+                                          },
+                                          LinkedHashMap::new));
 
         return apps;
     }
@@ -27,17 +27,79 @@ import java.io.File;
 import java.util.Collection;
 
 import com.kt.advance.ProgressTracker;
+import com.kt.advance.model.CallGraph;
+import com.kt.advance.model.DelegationGraph;
+import com.kt.advance.model.GlobalXrefs;
+import com.kt.advance.model.POLineIndex;
+import com.kt.advance.model.POTimeIndex;
 
 public interface CApplication {
 
     void read(ProgressTracker tracker);
 
+    /**
+     * Reads the application one translation unit at a time, handing each
+     * function to the handler and dropping it afterwards. Nothing stays
+     * resident once this returns; {@link #getCfiles()} is empty.
+     */
+    void stream(ProgressTracker tracker, CAnalysisHandler handler);
+
     Collection<CFile> getCfiles();
 
     CFile getCFileStrictly(String name);
 
     File getSourceDir();
 
+    /**
+     * @return global varinfo/compinfo ids of the _gxrefs.xml files; empty
+     *         unless the application was {@link #read(ProgressTracker)}
+     */
+    GlobalXrefs getGlobalXrefs();
+
+    /**
+     * @return calls between the functions of all files; empty unless the
+     *         application was {@link #read(ProgressTracker)}
+     */
+    CallGraph getCallGraph();
+
+    /**
+     * @return delegation of POs to callers, across functions and files; empty
+     *         unless the application was {@link #read(ProgressTracker)}
+     */
+    DelegationGraph getDelegationGraph();
+
+    /**
+     * @return POs by source file and line, headers included; empty unless the
+     *         application was {@link #read(ProgressTracker)}
+     */
+    POLineIndex getLineIndex();
+
+    /**
+     * @return POs and files by timestamp; empty unless the application was
+     *         {@link #read(ProgressTracker)}
+     */
+    POTimeIndex getTimeIndex();
+
+    /**
+     * reads the invariants of all functions in parallel, instead of one
+     * function at a time on {@link CFunction#getInvariants()}
+     */
+    void readInvariants(ProgressTracker tracker);
+
+    /**
+     * @return the XML tree the application is read from
+     */
+    FsAbstraction getFsAbstraction();
+
+    /**
+     * @return the project directory, two levels above the XMLs; names the
+     *         application in the JSON and binary exports
+     */
+    File getProjectDir();
+
+    /**
+     * @deprecated use {@link #getProjectDir()}
+     */
     @Deprecated
     File getBaseDir();
 
@@ -3,7 +3,10 @@ package com.kt.advance.api;
 import java.io.File;
 import java.util.Collection;
 
+import com.kt.advance.model.AssignmentDictionary;
 import com.kt.advance.model.CLval;
+import com.kt.advance.model.ContextTable;
+import com.kt.advance.model.InterfaceDictionary;
 import com.kt.advance.model.CString;
 import com.kt.advance.model.CVarInfo;
 import com.kt.advance.model.CTypeFactory.CType;
@@ -38,4 +41,32 @@ public interface CFile {
 
     CApplication getApplication();
 
+    /**
+     * @return hash of the dictionaries (cdict, prd) this file was read from
+     */
+    long getDictionaryHash();
+
+    /**
+     * @return when the _cfile.xml was produced, in epoch seconds (see
+     *         {@link com.kt.advance.model.Timestamps}); 0 if unknown
+     */
+    int getTimestamp();
+
+    /**
+     * @return program contexts of the POs, read from the _ctxt.xml on first
+     *         use
+     */
+    ContextTable getContexts();
+
+    /**
+     * @return s-terms, conditions and postcondition requests of the function
+     *         apis, read from the _ixf.xml on first use
+     */
+    InterfaceDictionary getInterfaceDictionary();
+
+    /**
+     * @return assignments to globals, read from the _cgl.xml on first use
+     */
+    AssignmentDictionary getAssignments();
+
 }
@@ -1,8 +1,14 @@
 package com.kt.advance.api;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 
+import com.kt.advance.ProgressTracker;
+import com.kt.advance.model.FunctionDependencies;
+import com.kt.advance.model.InvariantTable;
 import com.kt.advance.model.PoTypeRef;
+import com.kt.advance.model.VarDictionary;
 
 public interface CFunction {
 
@@ -20,8 +26,35 @@ public interface CFunction {
 
     Collection<? extends PPO> getPPOs();
 
+    /**
+     * resolves {@link PPO#getAssociatedSpos(CFunction)} for every PPO of the
+     * function at once
+     *
+     * @return unmodifiable sets of associated SPOs, in PPO order
+     */
+    Map<PPO, Set<SPO>> getAssociatedSpos();
+
     Collection<Assumption> getApiAssumptions();
 
+    /**
+     * @return dependencies of the function's POs on assumptions and
+     *         invariants, computed on first use
+     */
+    FunctionDependencies getDependencies();
+
+    /**
+     * @return invariants of the function, read from its _invs.xml on first
+     *         use; see {@link CApplication#readInvariants(ProgressTracker)}
+     *         to read them all at once
+     */
+    InvariantTable getInvariants();
+
+    /**
+     * @return variables and expressions of the function, read from its
+     *         _vars.xml on first use
+     */
+    VarDictionary getVariables();
+
     CLocation getLocation();
 
 }
@@ -1,5 +1,8 @@
 package com.kt.advance.api;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class Definitions {
     public enum DepsLevel {
         a("dependent on other functions"),
@@ -128,6 +131,28 @@ public class Definitions {
             this.label = label;
         };
 
+        private static final Map<String, PredicateType> BY_TAG = new HashMap<>();
+        static {
+            for (final PredicateType type : values()) {
+                BY_TAG.put(type.name().substring(1), type);
+            }
+        }
+
+        /**
+         * @param tag
+         *            the predicate tag of the _prd.xml, without the leading
+         *            underscore of the constant name
+         * @throws IllegalArgumentException
+         *             for unknown tags, like {@link #valueOf(String)}
+         */
+        public static PredicateType forTag(String tag) {
+            final PredicateType type = BY_TAG.get(tag);
+            if (type == null) {
+                throw new IllegalArgumentException("No predicate type for the tag " + tag);
+            }
+            return type;
+        }
+
         @Override
         public String toString() {
             return this.label;
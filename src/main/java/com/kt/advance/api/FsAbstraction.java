@@ -13,11 +13,37 @@ public interface FsAbstraction {
     public static final String CDICT_SUFFIX  = "_cdict";
     public static final String CFILE_SUFFIX  = "_cfile";
     public static final String CFUN_SUFFIX   = "_cfun";
+    public static final String CGL_SUFFIX    = "_cgl";
+    public static final String CTXT_SUFFIX   = "_ctxt";
+    public static final String GXREFS_SUFFIX = "_gxrefs";
+    public static final String INVS_SUFFIX   = "_invs";
+    public static final String IXF_SUFFIX    = "_ixf";
     public static final String POD_SUFFIX    = "_pod";
     public static final String PPO_SUFFIX    = "_ppo";
     public static final String PRD_SUFFIX    = "_prd";
     public static final String SPO_SUFFIX    = "_spo";
     public static final String TARGET_SUFFIX = "target_files";
+    public static final String VARS_SUFFIX   = "_vars";
+
+    public static final String XML_EXTENSION = ".xml";
+
+    /**
+     * @return name of the XML of that stem and suffix, e.g. adbuf + _cdict
+     *         gives adbuf_cdict.xml
+     */
+    static String xmlName(String stem, String suffix) {
+        return stem + suffix + XML_EXTENSION;
+    }
+
+    /**
+     * @return stem of the XML of that suffix, e.g. adbuf for adbuf_cdict.xml
+     *         and _cdict; the whole name if it does not end that way
+     */
+    static String stemOf(File xml, String suffix) {
+        final String name = xml.getName();
+        final String end = suffix + XML_EXTENSION;
+        return name.endsWith(end) ? name.substring(0, name.length() - end.length()) : name;
+    }
 
     public FsAbstraction instance(File baseDir);
 
@@ -2,6 +2,7 @@ package com.kt.advance.api;
 
 import com.kt.advance.api.Definitions.POLevel;
 import com.kt.advance.model.CProofDependencies;
+import com.kt.advance.model.PODiagnostics;
 import com.kt.advance.model.PoTypeRef;
 import com.kt.advance.model.PredicatesFactory.CPOPredicate;
 
@@ -15,8 +16,20 @@ public interface PO {
 
     String getExplaination();
 
+    /**
+     * @return the analyzer's diagnostic messages; read from the XMLs on first
+     *         request, empty if there are none
+     */
+    PODiagnostics getDiagnostics();
+
     Definitions.POStatus getStatus();
 
+    /**
+     * @return when the PO was last evaluated, in epoch seconds (see
+     *         {@link com.kt.advance.model.Timestamps}); 0 if unknown
+     */
+    int getTimestamp();
+
     CProofDependencies getDeps();
 
     Integer getId();
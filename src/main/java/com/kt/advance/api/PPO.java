@@ -11,6 +11,10 @@ public interface PPO extends PO {
 
     CLocation getLocation();
 
+    /**
+     * @return unmodifiable set of the callsite SPOs of cfun that refer to the
+     *         api assumptions this PPO depends on
+     */
     Set<SPO> getAssociatedSpos(CFunction cfun);
 
 }
@@ -0,0 +1,85 @@
+package com.kt.advance.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialized functions of a previous JSON export, keyed by app, file and
+ * function name. A function whose content hash did not change since that
+ * export is copied from here instead of being rendered again.
+ *
+ * @author artem
+ *
+ */
+class FunctionFragmentCache {
+    private static final Logger LOG = LoggerFactory.getLogger(FunctionFragmentCache.class.getName());
+
+    static final FunctionFragmentCache EMPTY = new FunctionFragmentCache(Collections.emptyMap());
+
+    private final Map<String, JsonNode> fragments;
+
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private FunctionFragmentCache(Map<String, JsonNode> fragments) {
+        this.fragments = fragments;
+    }
+
+    static FunctionFragmentCache load(File previousExport) {
+        if (previousExport == null || !previousExport.isFile()) {
+            return EMPTY;
+        }
+
+        final Map<String, JsonNode> fragments = new HashMap<>();
+        try {
+            final JsonNode root = new ObjectMapper().readTree(previousExport);
+            for (final JsonNode app : root.path("apps")) {
+                final String baseDir = app.path("baseDir").asText();
+                for (final JsonNode file : app.path("files")) {
+                    final String fileName = file.path("name").asText();
+                    for (final JsonNode function : file.path("functions")) {
+                        if (function.hasNonNull("hash")) {
+                            fragments.put(key(baseDir, fileName, function.path("name").asText()), function);
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            LOG.warn("cannot reuse {}: {}", previousExport, e.getMessage());
+            return EMPTY;
+        }
+
+        LOG.info("{} function fragments available from {}", fragments.size(), previousExport);
+        return new FunctionFragmentCache(fragments);
+    }
+
+    private static String key(String baseDir, String fileName, String functionName) {
+        return baseDir + '/' + fileName + '#' + functionName;
+    }
+
+    /**
+     * @return serialized function, if it was exported with the same content hash
+     */
+    JsonNode get(String baseDir, String fileName, String functionName, String hash) {
+        final JsonNode node = fragments.get(key(baseDir, fileName, functionName));
+        if (node != null && hash.equals(node.path("hash").asText())) {
+            hits.incrementAndGet();
+            return node;
+        }
+        return null;
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.kt.advance.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.kt.advance.api.CAnalysis;
+import com.kt.advance.api.CApplication;
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.CLocation;
+import com.kt.advance.api.PO;
+import com.kt.advance.api.PPO;
+import com.kt.advance.api.SPO;
+import com.kt.advance.model.ExpFactory.CExpression;
+
+/**
+ * Compact binary export of proof obligations, for consumers that do not want
+ * to parse the full JSON. Read it back with {@link POBinaryReader}.
+ *
+ * <pre>
+ * export   := "KTPO" u8:version strings section* index u64:indexOffset
+ * strings  := n (n:byteLength utf8)*
+ * section  := n function*                      -- one per CFile
+ * function := s:name loc n ppo* n site*
+ * site     := u8:kind s:type loc o:exp o:callee n spo*
+ * ppo      := po o:line
+ * spo      := po
+ * po       := n:id s:status s:predicate o:exp o:explanation s:deps
+ * loc      := o:file o:line
+ * index    := n (s:app s:file n:offset n:length n:poCount)*
+ * </pre>
+ *
+ * <code>n</code> is an unsigned varint, <code>s</code> a string table index,
+ * <code>o</code> an optional value stored as value + 1 (0 is null).
+ * <code>indexOffset</code> is big-endian; section offsets are absolute. An
+ * app is named by its project directory, as in the JSON export.
+ *
+ * @author artem
+ *
+ */
+public class POBinaryPrinter {
+    private static final Logger LOG = LoggerFactory.getLogger(POBinaryPrinter.class.getName());
+
+    static final byte[] MAGIC   = { 'K', 'T', 'P', 'O' };
+    static final int    VERSION = 1;
+
+    static final int CALLSITE   = 0;
+    static final int RETURNSITE = 1;
+
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String>         strings   = new ArrayList<>();
+
+    private final List<byte[]> sections = new ArrayList<>();
+    /**
+     * app, file and PO count of each section
+     */
+    private final List<int[]> sectionInfo = new ArrayList<>();
+
+    private POBinaryPrinter() {
+    }
+
+    public static void toBinary(CAnalysis an, File file) throws IOException {
+        LOG.info("writing binary export to {}", file.getAbsolutePath());
+        try (OutputStream out = new FileOutputStream(file)) {
+            toBinary(an, out);
+        }
+    }
+
+    public static void toBinary(CAnalysis an, OutputStream out) throws IOException {
+        final POBinaryPrinter printer = new POBinaryPrinter();
+        for (final CApplication app : an.getApps()) {
+            final int appId = printer.intern(app.getProjectDir().getAbsolutePath());
+            for (final CFile cfile : app.getCfiles()) {
+                printer.addFile(appId, cfile);
+            }
+        }
+        printer.write(out);
+    }
+
+    private int intern(String s) {
+        return stringIds.computeIfAbsent(s, k -> {
+            strings.add(k);
+            return strings.size() - 1;
+        });
+    }
+
+    private Integer internOptional(String s) {
+        return s == null ? null : intern(s);
+    }
+
+    private void addFile(int appId, CFile cfile) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int poCount = 0;
+
+        VarInts.write(out, cfile.getCFunctions().size());
+        for (final CFunction function : cfile.getCFunctions()) {
+            VarInts.write(out, intern(function.getName()));
+            writeLocation(out, function.getLocation());
+
+            VarInts.write(out, function.getPPOs().size());
+            for (final PPO ppo : function.getPPOs()) {
+                writePO(out, ppo);
+                VarInts.writeOptional(out, ppo.getLocation().getLine());
+            }
+            poCount += function.getPPOs().size();
+
+            VarInts.write(out, function.getCallsites().size() + function.getReturnsites().size());
+            for (final CFunctionSiteSPOs site : function.getCallsites()) {
+                poCount += writeSite(out, CALLSITE, site);
+            }
+            for (final CFunctionSiteSPOs site : function.getReturnsites()) {
+                poCount += writeSite(out, RETURNSITE, site);
+            }
+        }
+
+        sections.add(out.toByteArray());
+        sectionInfo.add(new int[] { appId, intern(cfile.getName()), poCount });
+    }
+
+    private int writeSite(ByteArrayOutputStream out, int kind, CFunctionSiteSPOs site) {
+        out.write(kind);
+        VarInts.write(out, intern(site.getType()));
+        writeLocation(out, site.getLocation());
+
+        final CExpression exp = site.getExp();
+        VarInts.writeOptional(out, exp == null ? null : intern(exp.toString()));
+        VarInts.writeOptional(out, site.getCallee() == null ? null : intern(site.getCallee().name));
+
+        VarInts.write(out, site.getSpos().size());
+        for (final SPO spo : site.getSpos()) {
+            writePO(out, spo);
+        }
+        return site.getSpos().size();
+    }
+
+    private void writePO(ByteArrayOutputStream out, PO po) {
+        VarInts.write(out, po.getId());
+        VarInts.write(out, intern(po.getStatus().label));
+        VarInts.write(out, intern(po.getPredicate().type.label));
+        VarInts.writeOptional(out, internOptional(po.getPredicate().express()));
+        VarInts.writeOptional(out, internOptional(po.getExplaination()));
+        VarInts.write(out, intern(po.getDeps().level.name()));
+    }
+
+    private void writeLocation(ByteArrayOutputStream out, CLocation loc) {
+        VarInts.writeOptional(out, loc == null ? null : internOptional(loc.getFilename()));
+        VarInts.writeOptional(out, loc == null ? null : loc.getLine());
+    }
+
+    private void write(OutputStream target) throws IOException {
+        final ByteArrayOutputStream head = new ByteArrayOutputStream();
+        head.write(MAGIC);
+        head.write(VERSION);
+        VarInts.write(head, strings.size());
+        for (final String s : strings) {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            VarInts.write(head, bytes.length);
+            head.write(bytes);
+        }
+
+        final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        VarInts.write(index, sections.size());
+        long offset = head.size();
+        for (int i = 0; i < sections.size(); i++) {
+            final int[] info = sectionInfo.get(i);
+            VarInts.write(index, info[0]);
+            VarInts.write(index, info[1]);
+            VarInts.write(index, offset);
+            VarInts.write(index, sections.get(i).length);
+            VarInts.write(index, info[2]);
+            offset += sections.get(i).length;
+        }
+
+        final DataOutputStream out = new DataOutputStream(target);
+        head.writeTo(out);
+        for (final byte[] section : sections) {
+            out.write(section);
+        }
+        index.writeTo(out);
+        out.writeLong(offset);
+        out.flush();
+    }
+
+}
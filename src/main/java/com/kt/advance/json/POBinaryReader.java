@@ -0,0 +1,230 @@
+package com.kt.advance.json;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads exports written by {@link POBinaryPrinter}. The string table and the
+ * file index are decoded on open; the POs of a file are decoded only when
+ * that file is requested.
+ *
+ * @author artem
+ *
+ */
+public class POBinaryReader implements Closeable {
+
+    public static class FileEntry {
+        public final String app;
+        public final String name;
+        public final int    poCount;
+
+        final long offset;
+        final int  length;
+
+        FileEntry(String app, String name, long offset, int length, int poCount) {
+            this.app = app;
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+            this.poCount = poCount;
+        }
+
+        @Override
+        public String toString() {
+            return app + "/" + name;
+        }
+    }
+
+    public static class Location {
+        public final String  file;
+        public final Integer line;
+
+        Location(String file, Integer line) {
+            this.file = file;
+            this.line = line;
+        }
+    }
+
+    public static class Function {
+        public final String       name;
+        public final Location     loc;
+        public final List<Record> ppos;
+        public final List<Site>   sites;
+
+        Function(String name, Location loc, List<Record> ppos, List<Site> sites) {
+            this.name = name;
+            this.loc = loc;
+            this.ppos = ppos;
+            this.sites = sites;
+        }
+    }
+
+    public static class Site {
+        public final boolean      returnsite;
+        public final String       type;
+        public final Location     loc;
+        public final String       exp;
+        public final String       callee;
+        public final List<Record> spos;
+
+        Site(boolean returnsite, String type, Location loc, String exp, String callee, List<Record> spos) {
+            this.returnsite = returnsite;
+            this.type = type;
+            this.loc = loc;
+            this.exp = exp;
+            this.callee = callee;
+            this.spos = spos;
+        }
+    }
+
+    /**
+     * a PPO or SPO; labels are those of the JSON export
+     */
+    public static class Record {
+        public int     id;
+        public String  sts;
+        public String  prd;
+        public String  exp;
+        public String  evl;
+        public String  dep;
+        /**
+         * PPOs only, SPOs are located by their site
+         */
+        public Integer line;
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer  buffer;
+
+    private final int             version;
+    private final String[]        strings;
+    private final List<FileEntry> files;
+
+    public POBinaryReader(File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            final ByteBuffer in = buffer.duplicate();
+            final byte[] magic = new byte[POBinaryPrinter.MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, POBinaryPrinter.MAGIC)) {
+                throw new IOException(file + " is not a PO binary export");
+            }
+            this.version = in.get() & 0xff;
+            if (version > POBinaryPrinter.VERSION) {
+                throw new IOException(file + ": unsupported version " + version);
+            }
+
+            this.strings = new String[VarInts.read(in)];
+            for (int i = 0; i < strings.length; i++) {
+                final byte[] bytes = new byte[VarInts.read(in)];
+                in.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            in.position((int) buffer.getLong(buffer.limit() - Long.BYTES));
+            final List<FileEntry> entries = new ArrayList<>();
+            for (int n = VarInts.read(in); n > 0; n--) {
+                entries.add(new FileEntry(strings[VarInts.read(in)], strings[VarInts.read(in)],
+                        VarInts.readLong(in), VarInts.read(in), VarInts.read(in)));
+            }
+            this.files = Collections.unmodifiableList(entries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public List<FileEntry> getFiles() {
+        return files;
+    }
+
+    /**
+     * @return the first file of that name, in any app; null if there is none
+     */
+    public FileEntry getFile(String name) {
+        return files.stream().filter(f -> f.name.equals(name)).findFirst().orElse(null);
+    }
+
+    public List<Function> readFile(FileEntry entry) {
+        final ByteBuffer in = buffer.duplicate();
+        in.position((int) entry.offset);
+        in.limit((int) entry.offset + entry.length);
+
+        final List<Function> functions = new ArrayList<>();
+        for (int n = VarInts.read(in); n > 0; n--) {
+            final String name = strings[VarInts.read(in)];
+            final Location loc = readLocation(in);
+
+            final List<Record> ppos = new ArrayList<>();
+            for (int p = VarInts.read(in); p > 0; p--) {
+                final Record ppo = readRecord(in);
+                ppo.line = VarInts.readOptional(in);
+                ppos.add(ppo);
+            }
+
+            final List<Site> sites = new ArrayList<>();
+            for (int s = VarInts.read(in); s > 0; s--) {
+                sites.add(readSite(in));
+            }
+            functions.add(new Function(name, loc, ppos, sites));
+        }
+        return functions;
+    }
+
+    private Site readSite(ByteBuffer in) {
+        final boolean returnsite = in.get() == POBinaryPrinter.RETURNSITE;
+        final String type = strings[VarInts.read(in)];
+        final Location loc = readLocation(in);
+        final String exp = optionalString(in);
+        final String callee = optionalString(in);
+
+        final List<Record> spos = new ArrayList<>();
+        for (int n = VarInts.read(in); n > 0; n--) {
+            spos.add(readRecord(in));
+        }
+        return new Site(returnsite, type, loc, exp, callee, spos);
+    }
+
+    private Record readRecord(ByteBuffer in) {
+        final Record r = new Record();
+        r.id = VarInts.read(in);
+        r.sts = strings[VarInts.read(in)];
+        r.prd = strings[VarInts.read(in)];
+        r.exp = optionalString(in);
+        r.evl = optionalString(in);
+        r.dep = strings[VarInts.read(in)];
+        return r;
+    }
+
+    private Location readLocation(ByteBuffer in) {
+        final String file = optionalString(in);
+        final Integer line = VarInts.readOptional(in);
+        return new Location(file, line);
+    }
+
+    private String optionalString(ByteBuffer in) {
+        final Integer id = VarInts.readOptional(in);
+        return id == null ? null : strings[id];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -3,6 +3,7 @@ package com.kt.advance.json;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -22,11 +23,15 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.kt.advance.ContentHash;
 import com.kt.advance.ErrorsBundle;
 import com.kt.advance.ProgressTracker;
 import com.kt.advance.api.Assumption;
@@ -34,6 +39,7 @@ import com.kt.advance.api.Assumption.AssumptionTypeCode;
 import com.kt.advance.model.CVarInfo;
 import com.kt.advance.model.ExpFactory.CExpression;
 import com.kt.advance.api.CAnalysis;
+import com.kt.advance.api.CAnalysisHandler;
 import com.kt.advance.api.CAnalysisImpl;
 import com.kt.advance.api.CApplication;
 import com.kt.advance.api.CFile;
@@ -46,46 +52,58 @@ import com.kt.advance.api.SPO;
 import com.kt.advance.xml.model.FsAbstractionImpl;
 
 public class POJsonPrinter {
-    static class JAnalysis implements Jsonable {
+    static class JAnalysis {
 
         public final List<JApp> apps;
         public List<JError>     errors;
 
         public JAnalysis(CAnalysis an) {
+            this(an, FunctionFragmentCache.EMPTY);
+        }
+
+        JAnalysis(CAnalysis an, FunctionFragmentCache cache) {
 
             this.apps = an.getApps().parallelStream()
-                    .map(JApp::new)
+                    .map(app -> new JApp(app, cache))
                     .collect(Collectors.toList());
 
-            this.errors = new ArrayList<>();
-            an.getErrors().getErrors().forEach((key, list) -> {
+            this.errors = JError.of(an.getErrors());
+        }
+    }
+
+    static class JError {
+        public String       file;
+        public List<String> messages;
+
+        static List<JError> of(ErrorsBundle bundle) {
+            final List<JError> errors = new ArrayList<>();
+            bundle.getErrors().forEach((key, list) -> {
 
                 final JError mJError = new JError();
                 mJError.file = key;
                 mJError.messages = list;
                 errors.add(mJError);
             });
+            return errors;
         }
     }
 
-    static class JError implements Jsonable {
-        public String       file;
-        public List<String> messages;
-
-    }
-
-    static class JApp implements Jsonable {
+    static class JApp {
 
         public final List<JFile> files;
         public String            actualSourceDir;
         public String            baseDir;
 
         public JApp(CApplication app) {
+            this(app, FunctionFragmentCache.EMPTY);
+        }
+
+        JApp(CApplication app, FunctionFragmentCache cache) {
             this.actualSourceDir = app.getSourceDir().getAbsolutePath();
-            this.baseDir = app.getBaseDir().getAbsolutePath();
+            this.baseDir = app.getProjectDir().getAbsolutePath();
 
             files = app.getCfiles().parallelStream()
-                    .map(JFile::new)
+                    .map(f -> new JFile(f, baseDir, cache))
                     .collect(Collectors.toList());
         }
     }
@@ -121,7 +139,7 @@ public class POJsonPrinter {
         }
     }
 
-    static class JCallsite implements Jsonable {
+    static class JCallsite {
 
         @JsonInclude(Include.NON_EMPTY)
         public JVarInfo callee;
@@ -155,17 +173,17 @@ public class POJsonPrinter {
         }
     }
 
-    static class JFile implements Jsonable {
+    static class JFile {
         @JsonInclude(Include.NON_EMPTY)
         public final List<JFunc> functions;
 
         public String name;
 
-        public JFile(CFile f) {
+        JFile(CFile f, String baseDir, FunctionFragmentCache cache) {
             this.name = f.getName();
 
             functions = f.getCFunctions().parallelStream()
-                    .map(JFunc::new)
+                    .map(cfunction -> JFunc.of(cfunction, baseDir, cache))
                     .collect(Collectors.toList());
 
         }
@@ -177,12 +195,18 @@ public class POJsonPrinter {
      * @author artem
      *
      */
-    static class JFunc implements Jsonable {
+    static class JFunc {
         public JApi api = new JApi();
 
         @JsonInclude(Include.NON_EMPTY)
         public List<JCallsite> callsites = new ArrayList<>();
 
+        /**
+         * hash of everything this function is rendered from, see
+         * {@link #contentHash(CFunction)}
+         */
+        public String hash;
+
         public JLocation loc;
 
         public String name;
@@ -193,8 +217,27 @@ public class POJsonPrinter {
         @JsonInclude(Include.NON_EMPTY)
         public List<JCallsite> returnsites = new ArrayList<>();
 
+        JFunc() {
+            // reused fragment
+        }
+
         public JFunc(CFunction cfunction) {
+            this(cfunction, contentHash(cfunction));
+        }
+
+        /**
+         * @return the function as exported before, if it did not change;
+         *         otherwise a newly rendered one
+         */
+        static JFunc of(CFunction cfunction, String baseDir, FunctionFragmentCache cache) {
+            final String hash = contentHash(cfunction);
+            final JsonNode fragment = cache.get(baseDir, cfunction.getCfile().getName(), cfunction.getName(), hash);
+            return fragment != null ? new JFuncFragment(fragment) : new JFunc(cfunction, hash);
+        }
+
+        JFunc(CFunction cfunction, String hash) {
             this.name = cfunction.getName();
+            this.hash = hash;
 
             this.loc = new JLocation(
                     cfunction.getLocation());
@@ -233,9 +276,90 @@ public class POJsonPrinter {
             }
 
         }
+
+        /**
+         * Hashes the raw (unrendered) function content: PO ids, statuses,
+         * dependencies, type refs and sites, plus the dictionaries of the
+         * CFile, which determine how all of them are rendered.
+         */
+        static String contentHash(CFunction cfunction) {
+            final ContentHash h = new ContentHash()
+                    .add(cfunction.getCfile().getDictionaryHash())
+                    .add(cfunction.getName());
+            addLocation(h, cfunction.getLocation());
+
+            for (final Assumption a : cfunction.getApiAssumptions()) {
+                h.add(a.index).add(a.typeCode).add(a.ppos).add(a.spos);
+            }
+
+            for (final PPO ppo : cfunction.getPPOs()) {
+                addPO(h, ppo);
+                addLocation(h, ppo.getLocation());
+            }
+
+            for (final CFunctionSiteSPOs site : cfunction.getCallsites()) {
+                addSite(h, site);
+            }
+            for (final CFunctionSiteSPOs site : cfunction.getReturnsites()) {
+                addSite(h, site);
+            }
+            return h.toHex();
+        }
+
+        private static void addLocation(ContentHash h, CLocation loc) {
+            if (loc == null) {
+                h.add(-1);
+            }
+            else {
+                h.add(loc.getFilename()).add(loc.getLine());
+            }
+        }
+
+        private static void addPO(ContentHash h, PO po) {
+            h.add(po.getId())
+                    .add(po.getType().id)
+                    .add(po.getStatus())
+                    .add(po.getExplaination())
+                    .add(po.getDeps().level)
+                    .add(po.getDeps().ids.size());
+            po.getDeps().ids.forEach(h::add);
+            h.add(po.getDeps().invs);
+        }
+
+        private static void addSite(ContentHash h, CFunctionSiteSPOs site) {
+            h.add(site.getType())
+                    .add(site.getExp() == null ? null : site.getExp().id)
+                    .add(site.getCallee() == null ? null : site.getCallee().id);
+            addLocation(h, site.getLocation());
+
+            h.add(site.getSpos().size());
+            for (final SPO spo : site.getSpos()) {
+                addPO(h, spo);
+            }
+        }
     }
 
-    static class JLocation implements Jsonable {
+    /**
+     * a function copied verbatim from the previous export
+     */
+    @JsonSerialize(using = JFuncFragmentSerializer.class)
+    static class JFuncFragment extends JFunc {
+        final JsonNode fragment;
+
+        JFuncFragment(JsonNode fragment) {
+            this.fragment = fragment;
+        }
+    }
+
+    static class JFuncFragmentSerializer extends JsonSerializer<JFuncFragment> {
+        @Override
+        public void serialize(JFuncFragment value, JsonGenerator gen, SerializerProvider serializers)
+                throws IOException {
+            serializers.defaultSerializeValue(value.fragment, gen);
+        }
+    }
+
+    static class JLocation {
 
         public final String  file;
         public final Integer line;
@@ -247,7 +371,7 @@ public class POJsonPrinter {
 
     }
 
-    static class JPO implements Jsonable {
+    static class JPO {
         public String  dep;
         public String  evl;
         public String  exp;
@@ -285,13 +409,82 @@ public class POJsonPrinter {
     }
 
     /**
-     *
-     * just a marker interface
-     *
+     * writes functions as they are streamed, see
+     * {@link POJsonPrinter#streamToJson(CAnalysis, File, ProgressTracker)}
      */
-    interface Jsonable {}
+    static class JsonStreamHandler implements CAnalysisHandler {
+        private final JsonGenerator gen;
+        private final ObjectWriter  ow;
+
+        private String  baseDir;
+        private boolean functionsStarted;
+
+        JsonStreamHandler(JsonGenerator gen, ObjectWriter ow) {
+            this.gen = gen;
+            this.ow = ow;
+        }
 
-    static class JVarInfo implements Jsonable {
+        @Override
+        public void startApp(CApplication app) {
+            try {
+                this.baseDir = app.getProjectDir().getAbsolutePath();
+                gen.writeStartObject();
+                gen.writeArrayFieldStart("files");
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void startFile(CFile file) {
+            try {
+                gen.writeStartObject();
+                functionsStarted = false;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void function(CFunction function) {
+            try {
+                if (!functionsStarted) {
+                    gen.writeArrayFieldStart("functions");
+                    functionsStarted = true;
+                }
+                ow.writeValue(gen, JFunc.of(function, baseDir, FunctionFragmentCache.EMPTY));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void endFile(CFile file) {
+            try {
+                if (functionsStarted) {
+                    gen.writeEndArray();
+                }
+                gen.writeStringField("name", file.getName());
+                gen.writeEndObject();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void endApp(CApplication app) {
+            try {
+                gen.writeEndArray();
+                gen.writeStringField("actualSourceDir", app.getSourceDir().getAbsolutePath());
+                gen.writeStringField("baseDir", baseDir);
+                gen.writeEndObject();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static class JVarInfo {
         public JLocation loc;
         public String    name;
         public String    type;
@@ -311,40 +504,81 @@ public class POJsonPrinter {
 
     static final String RL = "\n\t\t----> ";
 
-    public static String toJson(CAnalysis an) {
-        final JAnalysis jAnalysis = new JAnalysis(an);
+    /**
+     * mappers and writers are thread-safe and shared
+     */
+    static final ObjectMapper MAPPER = new ObjectMapper();
 
-        final ObjectMapper objectMapper = new ObjectMapper();
+    static final ObjectWriter WRITER        = MAPPER.writer();
+    static final ObjectWriter PRETTY_WRITER = WRITER.withDefaultPrettyPrinter();
 
-        final ObjectWriter ow = objectMapper.writer().withDefaultPrettyPrinter();
+    public static String toJson(CAnalysis an) {
+        final JAnalysis jAnalysis = new JAnalysis(an);
 
         try {
-            final String json = ow.writeValueAsString(jAnalysis);
-            return json;
+            return PRETTY_WRITER.writeValueAsString(jAnalysis);
         } catch (final JsonProcessingException e) {
             throw new RuntimeException(e);
         }
-
     }
 
     public static void toJson(CAnalysis an, File file) throws IOException {
+        toJson(an, file, null);
+    }
+
+    /**
+     * @param previousExport
+     *            an earlier export of the same analysis (may be the output file
+     *            itself, or null); functions that did not change since are
+     *            copied from it instead of being rendered
+     */
+    public static void toJson(CAnalysis an, File file, File previousExport) throws IOException {
+        final FunctionFragmentCache cache = FunctionFragmentCache.load(previousExport);
         final JAnalysis jAnalysis = new JAnalysis(
-                an);
+                an, cache);
+        if (cache != FunctionFragmentCache.EMPTY) {
+            LOG.info("reused {} functions of {}", cache.getHits(), previousExport);
+        }
 
         LOG.info("writing json to {}", file.getAbsolutePath());
         final PrintWriter writer = new PrintWriter(
                 file,
                 "UTF-8");
 
-        final JsonFactory jfactory = new JsonFactory();
-        final JsonGenerator jGenerator = jfactory.createGenerator(writer);
-        final ObjectMapper objectMapper = new ObjectMapper();
-
-        final ObjectWriter ow = objectMapper.writer().withDefaultPrettyPrinter();
-        ow.writeValue(jGenerator, jAnalysis);
+        final JsonGenerator jGenerator = MAPPER.getFactory().createGenerator(writer);
+        PRETTY_WRITER.writeValue(jGenerator, jAnalysis);
         writer.close();
     }
 
+    /**
+     * Reads and exports in one pass, keeping only one translation unit in
+     * memory at a time. Produces the same JSON as
+     * {@link #toJson(CAnalysis, File)}, except that files are ordered by their
+     * XML names. The analysis is left empty.
+     */
+    public static void streamToJson(CAnalysis an, File file, ProgressTracker tracker) throws IOException {
+        LOG.info("streaming json to {}", file.getAbsolutePath());
+
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            final JsonGenerator gen = MAPPER.getFactory().createGenerator(writer);
+            gen.useDefaultPrettyPrinter();
+
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("apps");
+            try {
+                an.stream(tracker, new JsonStreamHandler(gen, WRITER));
+            } catch (final UncheckedIOException e) {
+                throw e.getCause();
+            }
+            gen.writeEndArray();
+
+            gen.writeFieldName("errors");
+            WRITER.writeValue(gen, JError.of(an.getErrors()));
+            gen.writeEndObject();
+            gen.close();
+        }
+    }
+
     public static void main(String[] cmd_args) throws JAXBException, IOException {
 
         final long startTime = System.nanoTime();
@@ -364,6 +598,18 @@ public class POJsonPrinter {
         final Option extractSemanticsOpt = new Option("x", "extract-semantics", false, "extract semantics file");
         options.addOption(extractSemanticsOpt);
 
+        final Option reuseOpt = new Option("r", "reuse", false,
+                "reuse unchanged functions of the existing JSON export");
+        options.addOption(reuseOpt);
+
+        final Option streamOpt = new Option("s", "stream", false,
+                "convert one translation unit at a time, in constant memory");
+        options.addOption(streamOpt);
+
+        final Option binaryOpt = new Option("b", "binary", false,
+                "also write the binary PO export, see POBinaryPrinter");
+        options.addOption(binaryOpt);
+
         final CommandLineParser parser = new DefaultParser();
 
         try {
@@ -374,6 +620,9 @@ public class POJsonPrinter {
             final boolean printProgress = cmd.hasOption("p");
             final boolean printNoErrors = cmd.hasOption("ne");
             final boolean extractSemantics = cmd.hasOption("x");
+            final boolean reuse = cmd.hasOption("r");
+            final boolean binary = cmd.hasOption("b");
+            final boolean stream = cmd.hasOption("s");
 
             final FsAbstractionImpl fileSystem = new FsAbstractionImpl(
                     new File(basedir));
@@ -394,9 +643,23 @@ public class POJsonPrinter {
 
             final ProgressTracker tracker = new ProgressTracker(printProgress ? System.out : ProgressTracker.NO_OP);
 
-            mCAnalysisImpl.read(tracker);
+            if (stream) {
+                if (reuse || binary) {
+                    LOG.warn("--reuse and --binary are ignored when streaming");
+                }
+                POJsonPrinter.streamToJson(mCAnalysisImpl, file, tracker);
+            }
+            else {
+                mCAnalysisImpl.read(tracker);
+
+                POJsonPrinter.toJson(mCAnalysisImpl, file, reuse ? file : null);
 
-            POJsonPrinter.toJson(mCAnalysisImpl, file);
+                if (binary) {
+                    POBinaryPrinter.toBinary(mCAnalysisImpl, new File(
+                            mCAnalysisImpl.fs.getBaseDir(),
+                            mCAnalysisImpl.fs.getBaseDir().getName() + ".kt.analysis.ktpo"));
+                }
+            }
 
         } catch (final ParseException e) {
             System.out.println(e.getMessage());
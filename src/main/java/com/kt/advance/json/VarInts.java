@@ -0,0 +1,66 @@
+package com.kt.advance.json;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * unsigned LEB128 varints, as used by the binary PO export
+ */
+final class VarInts {
+    private VarInts() {
+    }
+
+    static void write(ByteArrayOutputStream out, int value) {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    static void write(ByteArrayOutputStream out, long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    /**
+     * writes <code>null</code> as 0 and any other value as value + 1
+     */
+    static void writeOptional(ByteArrayOutputStream out, Integer value) {
+        write(out, value == null ? 0 : value + 1);
+    }
+
+    static int read(ByteBuffer in) {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = in.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint at " + in.position());
+    }
+
+    static long readLong(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint at " + in.position());
+    }
+
+    static Integer readOptional(ByteBuffer in) {
+        final int v = read(in);
+        return v == 0 ? null : v - 1;
+    }
+}
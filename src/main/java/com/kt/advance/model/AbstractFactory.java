@@ -24,7 +24,9 @@
 package com.kt.advance.model;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,48 +34,58 @@ import org.slf4j.LoggerFactory;
 import com.google.common.base.Preconditions;
 import com.kt.advance.xml.model.IndexedTableNode;
 
+/**
+ * Builds dictionary entries by their first tag. A node is decoded once and
+ * the builder registered for its tag gets the decoded node.
+ */
 public abstract class AbstractFactory<T> {
 
     static final Logger LOG = LoggerFactory.getLogger(AbstractFactory.class.getName());
 
     @FunctionalInterface
     public interface Builder<X> {
-        X build(IndexedTableNode node);
+        X build(DecodedNode node);
+
+        default X build(IndexedTableNode node) {
+            return build(new DecodedNode(node));
+        }
     }
 
-    protected final HashMap<String, Builder<? extends T>> map;
+    private final Map<String, Builder<? extends T>> builders = new HashMap<>();
 
     public AbstractFactory() {
-        map = new HashMap<>();
     }
 
     public Collection<String> getKeys() {
-        return this.map.keySet();
+        return Collections.unmodifiableSet(builders.keySet());
     }
 
     protected <X> void reg(String name, Builder<? extends T> b) {
-
-        Preconditions.checkState(!map.containsKey(name));
-        map.put(name, b);
+        Preconditions.checkState(!builders.containsKey(name));
+        builders.put(name, b);
     }
 
-    public abstract T build(IndexedTableNode node);
-
-    public T buildImpl(IndexedTableNode node, String type, T fallBackValueSingleton) {
+    public final T build(IndexedTableNode node) {
+        return build(new DecodedNode(node));
+    }
 
-        final Builder<? extends T> builder = getBuilder(type);
+    public abstract T build(DecodedNode node);
 
+    /**
+     * @param fallBack
+     *            builds the value for unknown tags; may be null
+     */
+    protected T buildImpl(DecodedNode node, Builder<? extends T> fallBack) {
+        final String tag = node.getTag();
+        final Builder<? extends T> builder = getBuilder(tag);
         if (builder == null) {
-            LOG.error("unknown type: " + type);
-            return fallBackValueSingleton;
+            LOG.error("unknown type: " + tag);
+            return fallBack == null ? null : fallBack.build(node);
         }
-
-        final T exp = builder.build(node);
-
-        return exp;
+        return builder.build(node);
     }
 
     public Builder<? extends T> getBuilder(String type) {
-        return map.get(type);
+        return type == null ? null : builders.get(type);
     }
 }
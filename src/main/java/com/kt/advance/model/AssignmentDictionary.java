@@ -0,0 +1,82 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import com.kt.advance.xml.model.CglXml;
+
+/**
+ * Global assignment dictionary of a file, from its _cgl.xml: assignments to
+ * global variables and struct fields made by its functions.
+ *
+ * The xml is read on first use of the file's dictionary; each table is
+ * built the first time it is asked for.
+ *
+ * @author artem
+ *
+ */
+public final class AssignmentDictionary {
+
+    public enum TableName {
+        FUNCTION_NAME("function-name-table"),
+        ASSIGNMENT("assignment-table"),
+        GLOBAL_VALUE("global-value-table");
+
+        public final String xmlName;
+
+        TableName(String xmlName) {
+            this.xmlName = xmlName;
+        }
+    }
+
+    public static final AssignmentDictionary EMPTY = new AssignmentDictionary(new CglXml.AssignmentDictionary(),
+            new SymbolTable());
+
+    private final LazyTables<TableName> tables;
+
+    AssignmentDictionary(CglXml.AssignmentDictionary xml, SymbolTable symbols) {
+        tables = new LazyTables<>(TableName.class, name -> name.xmlName, symbols)
+                .add(TableName.FUNCTION_NAME, xml.functionNames)
+                .add(TableName.ASSIGNMENT, xml.assignments)
+                .add(TableName.GLOBAL_VALUE, xml.globalValues);
+    }
+
+    public IndexedTable getTable(TableName name) {
+        return tables.get(name);
+    }
+
+    /**
+     * @return name of an entry of the function-name-table
+     */
+    public String getFunctionName(int index) {
+        return getTable(TableName.FUNCTION_NAME).getTag(index);
+    }
+
+    /**
+     * @return number of assignments
+     */
+    public int getAssignmentCount() {
+        return getTable(TableName.ASSIGNMENT).size();
+    }
+
+}
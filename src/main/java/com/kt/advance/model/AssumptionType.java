@@ -24,6 +24,7 @@
 package com.kt.advance.model;
 
 import com.kt.advance.api.Assumption.AssumptionTypeCode;
+import com.kt.advance.model.InterfaceDictionary.PostRequest;
 import com.kt.advance.model.PredicatesFactory.CPOPredicate;
 import com.kt.advance.api.CFile;
 import com.kt.advance.xml.model.IndexedTableNode;
@@ -37,9 +38,12 @@ class AssumptionType extends Indexed {
 
     public final AssumptionTypeCode type;
 
+    private final CFile cfile;
+
     public AssumptionType(IndexedTableNode node, CFile cfile) {
 
         super(node);
+        this.cfile = cfile;
 
         final Integer[] args = node.getArguments();
         final String[] tags = node.getTagsSplit();
@@ -60,12 +64,24 @@ class AssumptionType extends Indexed {
 
     }
 
+    /**
+     * @return the postcondition request of a <code>pc</code> assumption,
+     *         from the file's _ixf.xml; null for other assumptions
+     */
+    public PostRequest getPostRequest() {
+        return postRequestIndex == null ? null : cfile.getInterfaceDictionary().getPostRequest(postRequestIndex);
+    }
+
     public boolean isGlobal() {
         return this.type == AssumptionTypeCode.ga;
     }
 
     @Override
     public String toString() {
+        if (type == AssumptionTypeCode.pc) {
+            /* the index, loaded or not: neither reads files nor depends on what was read */
+            return "post-request " + postRequestIndex + " :" + type;
+        }
         return predicate.toString() + " :" + type;
     }
 }
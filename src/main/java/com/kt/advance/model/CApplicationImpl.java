@@ -30,9 +30,11 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
@@ -42,17 +44,21 @@ import com.google.common.base.Preconditions;
 import com.kt.TestMode;
 import com.kt.advance.ErrorsBundle;
 import com.kt.advance.ProgressTracker;
+import com.kt.advance.api.CAnalysisHandler;
 import com.kt.advance.api.CApplication;
 import com.kt.advance.api.CFile;
 import com.kt.advance.api.CFunction;
 import com.kt.advance.api.FsAbstraction;
 import com.kt.advance.xml.XMLFileType;
+import com.kt.advance.xml.XmlParserException;
+import com.kt.advance.xml.XmlReadFailedException;
 import com.kt.advance.xml.model.AnalysisXml;
 import com.kt.advance.xml.model.ApiXml;
 import com.kt.advance.xml.model.CFunXml;
 import com.kt.advance.xml.model.CdictXml;
 import com.kt.advance.xml.model.CfileXml;
 import com.kt.advance.xml.model.FunctionLevelAnalysisXml;
+import com.kt.advance.xml.model.GxrefsXml;
 import com.kt.advance.xml.model.PodXml;
 import com.kt.advance.xml.model.PpoXml;
 import com.kt.advance.xml.model.PrdXml;
@@ -72,9 +78,26 @@ public class CApplicationImpl implements CApplication {
 
     static final Logger LOG = LoggerFactory.getLogger(CApplicationImpl.class.getName());
 
+    private static final ProgressTracker NO_PROGRESS = new ProgressTracker();
+
     public final PredicatesFactory predicatesFactory = new PredicatesFactory();
 
-    private final Map<String, CFileImpl> cfiles = new HashMap<>();
+    /**
+     * tags and names of the functions' variable dictionaries
+     */
+    final SymbolTable symbols = new SymbolTable();
+
+    /**
+     * PO and file timestamps, each distinct string parsed once
+     */
+    final Timestamps timestamps = new Timestamps();
+
+    /**
+     * the compinfos the files share, by global key
+     */
+    final GlobalCompInfos compInfos = new GlobalCompInfos();
+
+    private final Map<String, CFileImpl> cfiles = new TreeMap<>();
 
     private final ErrorsBundle errors;
 
@@ -82,6 +105,24 @@ public class CApplicationImpl implements CApplication {
 
     private File sourceDir;
 
+    /**
+     * function name -> functions of that name, in all files
+     */
+    private Map<String, List<CFunction>> functionsByName = Collections.emptyMap();
+
+    /*
+     * the indexes below are null once read, until first asked for
+     */
+    private volatile GlobalXrefs globalXrefs = GlobalXrefs.EMPTY;
+
+    private volatile CallGraph callGraph = CallGraph.EMPTY;
+
+    private volatile DelegationGraph delegationGraph = DelegationGraph.EMPTY;
+
+    private volatile POLineIndex lineIndex = POLineIndex.EMPTY;
+
+    private volatile POTimeIndex timeIndex = POTimeIndex.EMPTY;
+
     public CApplicationImpl(FsAbstraction fs, ErrorsBundle errors) {
         this.errors = errors;
         Preconditions.checkNotNull(fs, "FileSystemAbstraction is required");
@@ -107,10 +148,20 @@ public class CApplicationImpl implements CApplication {
     }
 
     @Override
-    public File getBaseDir() {
+    public FsAbstraction getFsAbstraction() {
+        return fs;
+    }
+
+    @Override
+    public File getProjectDir() {
         return this.fs.getBaseDir().getParentFile().getParentFile();
     }
 
+    @Override
+    public File getBaseDir() {
+        return getProjectDir();
+    }
+
     @Override
     public Collection<CFile> getCfiles() {
         final List<CFile> files = new ArrayList<>();
@@ -143,6 +194,8 @@ public class CApplicationImpl implements CApplication {
         LOG.info("reading APP DIR: {}", fs.getBaseDir());
 
         readAllCfileXmls(fs.listXMLs(FsAbstraction.CFILE_SUFFIX), tr.getSubtaskTracker(5, "reading cfiles"));
+        // before any compinfo table is built: the shared ones are by global key
+        readAllGxrefsXmls(fs.listXMLs(FsAbstraction.GXREFS_SUFFIX), tr.getSubtaskTracker(0, "reading gxrefs files"));
         readAllCdictXmls(fs.listXMLs(FsAbstraction.CDICT_SUFFIX), tr.getSubtaskTracker(10, "reading cdict files"));
         readAllCfuncsXmls(fs.listXMLs(FsAbstraction.CFUN_SUFFIX), tr.getSubtaskTracker(5, "reading cfun files"));
         readAllPrdXmls(fs.listXMLs(FsAbstraction.PRD_SUFFIX), tr.getSubtaskTracker(10, "reading prd files"));
@@ -151,6 +204,145 @@ public class CApplicationImpl implements CApplication {
         readAllSpoXmls(fs.listXMLs(FsAbstraction.SPO_SUFFIX), tr.getSubtaskTracker(20, "reading spo files"));
         readAllApiXmls(fs.listXMLs(FsAbstraction.API_SUFFIX), tr.getSubtaskTracker(20, "reading api files"));
 
+        indexFunctions();
+        globalXrefs = null;
+        callGraph = null;
+        delegationGraph = null;
+        lineIndex = null;
+        timeIndex = null;
+    }
+
+    private void indexFunctions() {
+        final Map<String, List<CFunction>> index = new HashMap<>();
+        for (final CFileImpl cfile : cfiles.values()) {
+            for (final CFunction f : cfile.getCFunctions()) {
+                index.computeIfAbsent(f.getName(), k -> new ArrayList<>()).add(f);
+            }
+        }
+        this.functionsByName = index;
+    }
+
+    /**
+     * Resolves the callee of a callsite through the global xrefs. Without
+     * xrefs, by name: a function of the caller's file wins, otherwise the
+     * only function of that name in the application.
+     *
+     * @return null for library functions and ambiguous names
+     */
+    CFunction findCallee(CFunction caller, CVarInfo callee) {
+        final CFunction global = getGlobalXrefs().resolve(caller.getCfile(), callee);
+        if (global != null) {
+            return global;
+        }
+
+        final List<CFunction> candidates = functionsByName.get(callee.name);
+        if (candidates == null) {
+            return null;
+        }
+        for (final CFunction candidate : candidates) {
+            if (candidate.getCfile() == caller.getCfile()) {
+                return candidate;
+            }
+        }
+        return candidates.size() == 1 ? candidates.get(0) : null;
+    }
+
+    @Override
+    public GlobalXrefs getGlobalXrefs() {
+        GlobalXrefs xrefs = globalXrefs;
+        if (xrefs == null) {
+            synchronized (this) {
+                xrefs = globalXrefs;
+                if (xrefs == null) {
+                    xrefs = GlobalXrefs.build(cfiles.values());
+                    globalXrefs = xrefs;
+                }
+            }
+        }
+        return xrefs;
+    }
+
+    @Override
+    public CallGraph getCallGraph() {
+        CallGraph graph = callGraph;
+        if (graph == null) {
+            /* the build resolves callees on worker threads, which must not wait on this lock */
+            getGlobalXrefs();
+            synchronized (this) {
+                graph = callGraph;
+                if (graph == null) {
+                    graph = CallGraph.build(this);
+                    callGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    @Override
+    public DelegationGraph getDelegationGraph() {
+        DelegationGraph graph = delegationGraph;
+        if (graph == null) {
+            /* the build resolves callees on worker threads, which must not wait on this lock */
+            getGlobalXrefs();
+            synchronized (this) {
+                graph = delegationGraph;
+                if (graph == null) {
+                    graph = DelegationGraph.build(this);
+                    delegationGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    @Override
+    public POLineIndex getLineIndex() {
+        POLineIndex index = lineIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = lineIndex;
+                if (index == null) {
+                    index = POLineIndex.build(getCfiles());
+                    lineIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public POTimeIndex getTimeIndex() {
+        POTimeIndex index = timeIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = timeIndex;
+                if (index == null) {
+                    index = POTimeIndex.build(getCfiles());
+                    timeIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public void readInvariants(ProgressTracker tracker) {
+        final List<CFunction> functions = new ArrayList<>();
+        cfiles.values().forEach(cfile -> functions.addAll(cfile.getCFunctions()));
+        if (functions.isEmpty()) {
+            tracker.addProgress(100);
+            return;
+        }
+
+        final float progressInc = 100f / functions.size();
+        StreamSupport.stream(functions.spliterator(), !TestMode.inTestMode)
+                .forEach(f -> {
+                    f.getInvariants();
+                    synchronized (tracker) {
+                        tracker.addProgress(progressInc);
+                    }
+                });
     }
 
     private void runInHandler(UnsafeProc proc, AnalysisXml ppos, ProgressTracker tracker, float progress) {
@@ -160,18 +352,21 @@ public class CApplicationImpl implements CApplication {
         } catch (final NullPointerException ex) {
             throw new RuntimeException(ex);
         } catch (final Exception ex) {
-
-            if (errors != null) {
-                errors.addError(ppos.getRelativeOrigin(), ex.getLocalizedMessage());
-            }
-            else {
-                LOG.error("{}:{}", ppos.getRelativeOrigin(), ex.getLocalizedMessage());
-            }
+            addError(ppos.getRelativeOrigin(), ex);
         } finally {
             tracker.addProgress(progress);
         }
     }
 
+    private void addError(String relativeOrigin, Exception ex) {
+        if (errors != null) {
+            errors.addError(relativeOrigin, ex.getLocalizedMessage());
+        }
+        else {
+            LOG.error("{}:{}", relativeOrigin, ex.getLocalizedMessage());
+        }
+    }
+
     CFileImpl getCFileOrMakeNew(String name) {
         return cfiles.computeIfAbsent(name, n -> new CFileImpl(
                 name,
@@ -223,85 +418,167 @@ public class CApplicationImpl implements CApplication {
 
     }
 
-    void readAllApiXmls(Collection<File> apiFiles, ProgressTracker tracker) {
+    void applyApiXml(ApiXml xmlObj) {
+        getCFunctionImpl(xmlObj).readApiFile(xmlObj);
+    }
 
-        this.forEachXmlFile(apiFiles, FsAbstraction.API_SUFFIX, ApiXml.class, tracker,
-                            (xmlObj) -> {
-                                final CFunctionImpl cFunction = getCFunctionImpl(xmlObj);
-                                cFunction.readApiFile(xmlObj);
-                            });
+    void applyCdictXml(CdictXml xmlObj) {
+        getCFileStrictly(xmlObj.getSourceFilename()).readCDictFile(xmlObj, predicatesFactory.expressionsFactory);
+    }
 
+    CFileImpl applyCfileXml(CfileXml xmlObj) {
+        final CFileImpl cfile = getCFileOrMakeNew(xmlObj.getSourceFilename());
+        cfile.readCFileXml(xmlObj);
+        return cfile;
     }
 
-    void readAllCdictXmls(Collection<File> cdictFiles, ProgressTracker tracker) {
+    CFunction applyCfunXml(CFunXml xmlObj) {
+        return getCFileStrictly(xmlObj.getSourceFilename()).getCFunctionOrMakeNew(xmlObj);
+    }
 
-        this.forEachXmlFile(cdictFiles, FsAbstraction.CDICT_SUFFIX, CdictXml.class, tracker,
-                            (xmlObj) -> {
-                                final CFileImpl cfile = getCFileStrictly(xmlObj.getSourceFilename());
-                                cfile.readCDictFile(xmlObj, predicatesFactory.expressionsFactory);
-                            });
+    void applyGxrefsXml(GxrefsXml xmlObj) {
+        getCFileStrictly(xmlObj.getSourceFilename()).readGxrefsFile(xmlObj);
+    }
 
+    void applyPodXml(PodXml xmlObj) {
+        getCFunctionImpl(xmlObj).readPodFile(xmlObj, getCFileStrictly(xmlObj.getSourceFilename()));
     }
 
-    void readAllCfileXmls(Collection<File> cFileFiles, ProgressTracker tracker) {
+    void applyPpoXml(PpoXml xmlObj) {
+        getCFunctionImpl(xmlObj).readPpoFile(xmlObj, errors);
+    }
 
-        this.forEachXmlFile(cFileFiles, FsAbstraction.CFILE_SUFFIX, CfileXml.class, tracker,
-                            (xmlO) -> {
-                                final CFileImpl cfile = getCFileOrMakeNew(xmlO.getSourceFilename());
-                                cfile.readCFileXml(xmlO);
-                            });
+    void applyPrdXml(PrdXml xmlObj) {
+        getCFileStrictly(xmlObj.getSourceFilename()).readPrdFile(xmlObj, predicatesFactory);
+    }
 
+    void applySpoXml(SpoXml xmlObj) {
+        getCFunctionImpl(xmlObj).readSpoFile(xmlObj, errors);
     }
 
-    void readAllCfuncsXmls(Collection<File> files, ProgressTracker tracker) {
+    void readAllApiXmls(Collection<File> apiFiles, ProgressTracker tracker) {
+        this.forEachXmlFile(apiFiles, FsAbstraction.API_SUFFIX, ApiXml.class, tracker, this::applyApiXml);
+    }
 
-        this.forEachXmlFile(files, FsAbstraction.CFUN_SUFFIX, CFunXml.class, tracker,
-                            (xmlObj) -> {
-                                getCFileStrictly(xmlObj.getSourceFilename()).getCFunctionOrMakeNew(xmlObj);
-                            });
+    void readAllCdictXmls(Collection<File> cdictFiles, ProgressTracker tracker) {
+        this.forEachXmlFile(cdictFiles, FsAbstraction.CDICT_SUFFIX, CdictXml.class, tracker, this::applyCdictXml);
+    }
 
+    void readAllCfileXmls(Collection<File> cFileFiles, ProgressTracker tracker) {
+        this.forEachXmlFile(cFileFiles, FsAbstraction.CFILE_SUFFIX, CfileXml.class, tracker, this::applyCfileXml);
     }
 
-    void readAllPodXmls(Collection<File> pods, ProgressTracker tracker) {
+    void readAllCfuncsXmls(Collection<File> files, ProgressTracker tracker) {
+        this.forEachXmlFile(files, FsAbstraction.CFUN_SUFFIX, CFunXml.class, tracker, this::applyCfunXml);
+    }
 
-        this.forEachXmlFile(pods, FsAbstraction.POD_SUFFIX, PodXml.class, tracker,
-                            (xmlObj) -> {
-                                getCFunctionImpl(xmlObj)
-                                        .readPodFile(
-                                                     xmlObj,
-                                                     getCFileStrictly(xmlObj.getSourceFilename()));
-                            });
+    /**
+     * _gxrefs.xml are optional: without them callees resolve by name
+     */
+    void readAllGxrefsXmls(Collection<File> files, ProgressTracker tracker) {
+        if (files.isEmpty()) {
+            tracker.addProgress(100);
+            return;
+        }
+        this.forEachXmlFile(files, FsAbstraction.GXREFS_SUFFIX, GxrefsXml.class, tracker, this::applyGxrefsXml);
+    }
 
+    void readAllPodXmls(Collection<File> pods, ProgressTracker tracker) {
+        this.forEachXmlFile(pods, FsAbstraction.POD_SUFFIX, PodXml.class, tracker, this::applyPodXml);
     }
 
     void readAllPpoXmls(Collection<File> ppoFiles, ProgressTracker tracker) {
+        this.forEachXmlFile(ppoFiles, FsAbstraction.PPO_SUFFIX, PpoXml.class, tracker, this::applyPpoXml);
+    }
 
-        this.forEachXmlFile(ppoFiles, FsAbstraction.PPO_SUFFIX, PpoXml.class, tracker,
-                            (xmlObj) -> {
-                                getCFunctionImpl(xmlObj)
-                                        .readPpoFile(xmlObj, errors);
-                            });
+    void readAllPrdXmls(Collection<File> predicatesFiles, ProgressTracker tracker) {
+        this.forEachXmlFile(predicatesFiles, FsAbstraction.PRD_SUFFIX, PrdXml.class, tracker, this::applyPrdXml);
+    }
 
+    void readAllSpoXmls(Collection<File> spoFiles, ProgressTracker tracker) {
+        this.forEachXmlFile(spoFiles, FsAbstraction.SPO_SUFFIX, SpoXml.class, tracker, this::applySpoXml);
     }
 
-    void readAllPrdXmls(Collection<File> predicatesFiles, ProgressTracker tracker) {
+    /**
+     * reads a single XML file, if it exists; a file that can not be read
+     * goes to the ErrorsBundle, as a failing action does
+     */
+    <T extends AnalysisXml> void readXmlFile(File file, Class<T> clazz, UnsafeProcAction<T> action) {
+        if (!file.isFile()) {
+            return;
+        }
+        final T xmlObj;
+        try {
+            xmlObj = XMLFileType.getReader(clazz).readXml(file, fs.getBaseDir());
+        } catch (final XmlReadFailedException | XmlParserException ex) {
+            addError(fs.getBaseDir().toURI().relativize(file.toURI()).getPath(), ex);
+            return;
+        }
+        runInHandler(() -> action.run(xmlObj), xmlObj, NO_PROGRESS, 0);
+    }
 
-        this.forEachXmlFile(predicatesFiles, FsAbstraction.PRD_SUFFIX, PrdXml.class, tracker,
-                            (xmlObj) -> {
-                                getCFileStrictly(xmlObj.getSourceFilename())
-                                        .readPrdFile(xmlObj, predicatesFactory);
-                            });
+    @Override
+    public void stream(ProgressTracker tr, CAnalysisHandler handler) {
+        LOG.info("streaming APP DIR: {}", fs.getBaseDir());
 
+        final Collection<File> cfileXmls = fs.listXMLs(FsAbstraction.CFILE_SUFFIX);
+        if (cfileXmls.isEmpty()) {
+            errors.addError(this.getBaseDir().toString(), "no *" + FsAbstraction.CFILE_SUFFIX + " files found");
+        }
+
+        handler.startApp(this);
+        for (final File cfileXml : cfileXmls) {
+            streamCFile(cfileXml, handler);
+            tr.addProgress(100f / cfileXmls.size());
+        }
+        handler.endApp(this);
     }
 
-    void readAllSpoXmls(Collection<File> spoFiles, ProgressTracker tracker) {
+    /**
+     * Reads one translation unit: file-level XMLs first, then each function's
+     * XMLs, handing over and dropping one function at a time. The file itself
+     * is dropped once all its functions are handled.
+     */
+    private void streamCFile(File cfileXml, CAnalysisHandler handler) {
+        final String stem = FsAbstraction.stemOf(cfileXml, FsAbstraction.CFILE_SUFFIX);
+        final File dir = cfileXml.getParentFile();
+        final File functionsDir = new File(dir, stem);
+
+        final CfileXml xml = XMLFileType.getReader(CfileXml.class).readXml(cfileXml, fs.getBaseDir());
+        final CFileImpl cfile = applyCfileXml(xml);
+
+        readXmlFile(fileOf(dir, stem, FsAbstraction.CDICT_SUFFIX), CdictXml.class, this::applyCdictXml);
+
+        /* function name -> common prefix of its XMLs */
+        final Map<String, String> functionXmls = new TreeMap<>();
+        if (functionsDir.isDirectory()) {
+            for (final File cfunXml : fs.instance(functionsDir).listXMLs(FsAbstraction.CFUN_SUFFIX)) {
+                readXmlFile(cfunXml, CFunXml.class, x -> {
+                    functionXmls.put(applyCfunXml(x).getName(),
+                                     FsAbstraction.stemOf(cfunXml, FsAbstraction.CFUN_SUFFIX));
+                });
+            }
+        }
+
+        readXmlFile(fileOf(dir, stem, FsAbstraction.PRD_SUFFIX), PrdXml.class, this::applyPrdXml);
 
-        this.forEachXmlFile(spoFiles, FsAbstraction.SPO_SUFFIX, SpoXml.class, tracker,
-                            (xmlObj) -> {
-                                getCFunctionImpl(xmlObj)
-                                        .readSpoFile(xmlObj, errors);
-                            });
+        handler.startFile(cfile);
+        functionXmls.forEach((functionName, prefix) -> {
+            readXmlFile(fileOf(functionsDir, prefix, FsAbstraction.POD_SUFFIX), PodXml.class, this::applyPodXml);
+            readXmlFile(fileOf(functionsDir, prefix, FsAbstraction.PPO_SUFFIX), PpoXml.class, this::applyPpoXml);
+            readXmlFile(fileOf(functionsDir, prefix, FsAbstraction.SPO_SUFFIX), SpoXml.class, this::applySpoXml);
+            readXmlFile(fileOf(functionsDir, prefix, FsAbstraction.API_SUFFIX), ApiXml.class, this::applyApiXml);
+
+            handler.function(cfile.getCFunctionImpl(functionName));
+            cfile.removeCFunction(functionName);
+        });
+        handler.endFile(cfile);
+
+        cfiles.remove(cfile.getName());
+    }
 
+    private static File fileOf(File dir, String prefix, String suffix) {
+        return new File(dir, FsAbstraction.xmlName(prefix, suffix));
     }
 
 }
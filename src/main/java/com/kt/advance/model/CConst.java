@@ -30,12 +30,34 @@ import org.apache.commons.lang.StringUtils;
 
 import com.kt.advance.Util;
 import com.kt.advance.api.CFile;
-import com.kt.advance.xml.model.IndexedTableNode;
 
 class CConst implements Bindable {
 
     public enum ConstType {
-        _cenum, _chr, _int, _real, _str, _wstr
+        _cenum, _chr, _int, _real, _str, _wstr;
+
+        /**
+         * @throws IllegalArgumentException
+         *             for unknown tags, like {@link #valueOf(String)}
+         */
+        static ConstType forTag(String tag) {
+            switch (tag) {
+                case "cenum":
+                    return _cenum;
+                case "chr":
+                    return _chr;
+                case "int":
+                    return _int;
+                case "real":
+                    return _real;
+                case "str":
+                    return _str;
+                case "wstr":
+                    return _wstr;
+                default:
+                    throw new IllegalArgumentException("No constant type for the tag " + tag);
+            }
+        }
     }
 
     public final Integer id;
@@ -43,12 +65,12 @@ class CConst implements Bindable {
     final ConstType      kind;
     Integer              stringIndex;
 
-    public CConst(IndexedTableNode node, CFile file) {
+    public CConst(DecodedNode node, CFile file) {
         this.id = node.index;
-        final String[] tags = node.getTagsSplit();
-        final Integer[] args = node.getArguments();
+        final String[] tags = node.tags;
+        final Integer[] args = node.args;
 
-        kind = ConstType.valueOf("_" + tags[0]);
+        kind = ConstType.forTag(tags[0]);
 
         switch (kind) {
             case _int:
@@ -3,20 +3,29 @@ package com.kt.advance.model;
 import static com.kt.advance.Util.requireValue;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
+import com.kt.advance.ContentHash;
 import com.kt.advance.api.CApplication;
 import com.kt.advance.api.CFile;
 import com.kt.advance.api.CFunction;
 import com.kt.advance.api.CLocation;
+import com.kt.advance.api.FsAbstraction;
 import com.kt.advance.api.MissingKeyException;
 import com.kt.advance.model.CFunArgs.CFunArg;
 import com.kt.advance.model.CTypeFactory.CCompInfo;
@@ -24,17 +33,24 @@ import com.kt.advance.model.CTypeFactory.CType;
 import com.kt.advance.model.ExpFactory.CExpression;
 import com.kt.advance.model.PredicatesFactory.CPOPredicate;
 import com.kt.advance.xml.XmlReadFailedException;
+import com.kt.advance.xml.model.AnalysisXml;
 import com.kt.advance.xml.model.CFunXml;
 import com.kt.advance.xml.model.CdictXml;
 import com.kt.advance.xml.model.CfileXml;
+import com.kt.advance.xml.model.CglXml;
+import com.kt.advance.xml.model.CtxtXml;
+import com.kt.advance.xml.model.GxrefsXml;
+import com.kt.advance.xml.model.GxrefsXml.CompinfoXref;
+import com.kt.advance.xml.model.GxrefsXml.VarinfoXref;
 import com.kt.advance.xml.model.IndexedStrignTable;
 import com.kt.advance.xml.model.IndexedTableNode;
+import com.kt.advance.xml.model.IxfXml;
 import com.kt.advance.xml.model.PrdXml;
 
 class CFileImpl implements CFile {
     static final Logger LOG = LoggerFactory.getLogger(CFileImpl.class.getName());
 
-    private final Map<String, CFunctionImpl> cfunctions = new HashMap<>();
+    private final Map<String, CFunctionImpl> cfunctions = new TreeMap<>();
 
     @Override
     public Collection<CFunctionImpl> getCFunctions() {
@@ -43,47 +59,71 @@ class CFileImpl implements CFile {
 
     public Map<Integer, CPOPredicate> predicates;
 
-    private final String              name;
-    Map<Integer, CConst>              constants;
-    private Map<Integer, CExpression> expressions;
-    Map<Integer, CLHost>              lhosts;
-    Map<Integer, CLocationImpl>       locations;
+    private final String name;
 
-    Map<Integer, CLval>   lvalues;
-    Map<Integer, COffset> offsets;
+    /**
+     * the dictionary tables below, see {@link DictionaryTable}
+     */
+    private final DictionaryTable.Group dictionary = new DictionaryTable.Group();
 
-    Map<Integer, CString>  strings;
-    Map<Integer, CType>    types;
-    Map<Integer, CVarInfo> varinfos;
+    private DictionaryTable<DecodedNode, CConst>        constants;
+    private DictionaryTable<DecodedNode, CExpression>   expressions;
+    private DictionaryTable<DecodedNode, CLHost>        lhosts;
+    private DictionaryTable<DecodedNode, CLocationImpl> locations;
 
-    Map<Integer, CFunArg>  funArg;
-    Map<Integer, CFunArgs> funArgs;
+    private DictionaryTable<DecodedNode, CLval>   lvalues;
+    private DictionaryTable<DecodedNode, COffset> offsets;
 
-    Map<Integer, CCompInfo> globalComptagDefinitions;
-    Map<Integer, CCompInfo> globalComptagDeclarations;
+    private DictionaryTable<IndexedStrignTable, CString> strings;
+    private DictionaryTable<DecodedNode, CType>     types;
+    private DictionaryTable<DecodedNode, CVarInfo>  varinfos;
 
-    Map<Integer, CCompInfo> compinfos;
+    private DictionaryTable<DecodedNode, CFunArg>  funArg;
+    private DictionaryTable<DecodedNode, CFunArgs> funArgs;
+
+    /* by ckey */
+    private DictionaryTable<Integer, CCompInfo> globalComptagDefinitions;
+    private DictionaryTable<Integer, CCompInfo> globalComptagDeclarations;
+
+    private DictionaryTable<DecodedNode, CCompInfo> compinfos;
+
+    /**
+     * @return whether the cdict has been read; its tables are materialized
+     *         on first lookup
+     */
+    boolean hasDictionary() {
+        return types != null;
+    }
+
+    /**
+     * @return whether the expression table has been built yet
+     */
+    boolean hasExpressions() {
+        return expressions != null && expressions.isMaterialized();
+    }
 
     public CFunArgs getCFunArgs(Integer key) {
         if (key == -1) {
             return CFunArgs.NO_ARGS;
         }
         Preconditions.checkState(this.funArgs != null, this.getName() + " has null or borken funArgs map");
-        return requireValue(funArgs, key, "funArgs");
+        return funArgs.get(key);
     }
 
     public CFunArg getCFunArg(Integer key) {
         Preconditions.checkState(this.funArg != null, this.getName() + " has null or borken CFunArg map");
-        return requireValue(funArg, key, "CFunArg");
+        return funArg.get(key);
     }
 
     public CCompInfo getStruct(Integer key) {
-        if (this.globalComptagDefinitions.containsKey(key)) {
-            return globalComptagDefinitions.get(key);
+        final CCompInfo definition = globalComptagDefinitions.find(key);
+        if (definition != null) {
+            return definition;
         }
 
-        if (this.globalComptagDeclarations.containsKey(key)) {
-            return globalComptagDeclarations.get(key);
+        final CCompInfo declaration = globalComptagDeclarations.find(key);
+        if (declaration != null) {
+            return declaration;
         }
 
         throw new MissingKeyException(
@@ -125,34 +165,39 @@ class CFileImpl implements CFile {
         return requireValue(cfunctions, name, "cfunction");
     }
 
+    void removeCFunction(String name) {
+        cfunctions.remove(name);
+    }
+
     public CConst getConst(Integer key) {
         Preconditions.checkState(this.constants != null, this.getName() + " has null or borken expressions map");
-        return requireValue(constants, key, "constant");
+        return constants.get(key);
     }
 
     @Override
     public CExpression getExression(Integer key) {
         Preconditions.checkState(this.expressions != null, this.getName() + " has null or borken expressions map");
-        return requireValue(expressions, key, "exp");
+        return expressions.get(key);
     }
 
     CLHost getLHost(Integer key) {
-        return requireValue(lhosts, key, "lhost");
+        Preconditions.checkState(this.lhosts != null, this.getName() + " has null or borken lhosts map");
+        return lhosts.get(key);
     }
 
     @Override
     public CLocation getLocation(Integer key) {
-        return requireValue(locations, key, "location");
+        return locations.get(key);
     }
 
     @Override
     public CVarInfo getVarInfo(Integer key) {
-        return requireValue(varinfos, key, "var info");
+        return varinfos.get(key);
     }
 
     @Override
     public CLval getLValue(Integer key) {
-        return requireValue(lvalues, key, "lvalue");
+        return lvalues.get(key);
     }
 
     @Override
@@ -174,7 +219,7 @@ class CFileImpl implements CFile {
 
     // @Override
     public COffset getOffest(Integer key) {
-        return requireValue(offsets, key, "offset");
+        return offsets.get(key);
     }
 
     @Override
@@ -184,140 +229,278 @@ class CFileImpl implements CFile {
 
     @Override
     public CString getString(Integer key) {
-        return requireValue(strings, key, "string");
+        return strings.get(key);
     }
 
     @Override
     public CType getType(Integer key) {
-        return requireValue(types, key, "type");
+        return types.get(key);
     }
 
     private CfileXml cfileXmlCached;
 
+    /**
+     * the _cfile.xml this file was read from, null if unknown
+     */
+    private File origin;
+
+    private int timestamp = Timestamps.NONE;
+
+    /*
+     * the XMLs next to the _cfile.xml
+     */
+    private final LazyXml<ContextTable> contexts = new LazyXml<>(
+            () -> readFileXml(FsAbstraction.CTXT_SUFFIX, CtxtXml.class,
+                              xml -> new ContextTable(xml.contexts, getApp().symbols), ContextTable.EMPTY));
+
+    private final LazyXml<InterfaceDictionary> interfaceDictionary = new LazyXml<>(
+            () -> readFileXml(FsAbstraction.IXF_SUFFIX, IxfXml.class,
+                              xml -> new InterfaceDictionary(xml.dictionary, getApp().symbols),
+                              InterfaceDictionary.EMPTY));
+
+    private final LazyXml<AssignmentDictionary> assignments = new LazyXml<>(
+            () -> readFileXml(FsAbstraction.CGL_SUFFIX, CglXml.class,
+                              xml -> new AssignmentDictionary(xml.dictionary, getApp().symbols),
+                              AssignmentDictionary.EMPTY));
+
+    /**
+     * fingerprint of the cdict and prd tables; everything rendered from this
+     * file's dictionaries is a function of it
+     */
+    private long dictionaryHash;
+
+    @Override
+    public long getDictionaryHash() {
+        return dictionaryHash;
+    }
+
+    /**
+     * global varinfo id by file-local vid, -1 if none
+     */
+    private int[] globalVarIds = new int[0];
+
+    /**
+     * global compinfo key by file-local ckey, -1 if none
+     */
+    private int[] globalCompKeys = new int[0];
+
+    int getGlobalVarId(int vid) {
+        return vid >= 0 && vid < globalVarIds.length ? globalVarIds[vid] : -1;
+    }
+
+    int getGlobalCompKey(int ckey) {
+        return ckey >= 0 && ckey < globalCompKeys.length ? globalCompKeys[ckey] : -1;
+    }
+
+    public void readGxrefsFile(GxrefsXml gxrefs) {
+        int maxVid = -1;
+        for (final VarinfoXref x : gxrefs.xrefs.varinfoXrefs) {
+            maxVid = Math.max(maxVid, x.vid);
+        }
+        final int[] vids = new int[maxVid + 1];
+        Arrays.fill(vids, -1);
+        for (final VarinfoXref x : gxrefs.xrefs.varinfoXrefs) {
+            vids[x.vid] = x.gvid;
+        }
+
+        int maxCkey = -1;
+        for (final CompinfoXref x : gxrefs.xrefs.compinfoXrefs) {
+            maxCkey = Math.max(maxCkey, x.ckey);
+        }
+        final int[] ckeys = new int[maxCkey + 1];
+        Arrays.fill(ckeys, -1);
+        for (final CompinfoXref x : gxrefs.xrefs.compinfoXrefs) {
+            ckeys[x.ckey] = x.gckey;
+        }
+
+        this.globalVarIds = vids;
+        this.globalCompKeys = ckeys;
+    }
+
     public void readCFileXml(CfileXml cfile) {
         this.cfileXmlCached = cfile;
+        this.origin = cfile.getOrigin();
+        if (cfile.header != null) {
+            this.timestamp = getApp().timestamps.get(cfile.header.time != null || cfile.header.created == null
+                    ? cfile.header.time
+                    : cfile.header.created.time);
+        }
     }
 
-    public void readCDictFile(CdictXml cdict, ExpFactory ef) {
+    @Override
+    public int getTimestamp() {
+        return timestamp;
+    }
 
-        LOG.debug("Parsing ({}) {} ", this.getName(), cdict.getOrigin());
+    @Override
+    public ContextTable getContexts() {
+        return contexts.get();
+    }
 
-        final CTypeFactory cTypeFactory = new CTypeFactory();
+    /**
+     * @return whether the _ixf.xml has been read
+     */
+    boolean hasInterfaceDictionary() {
+        return interfaceDictionary.isRead();
+    }
 
-        compinfos = cdict.cfile.cDeclarations.compinfos
-                .stream()
-                .map(CCompInfo::new)
-                .collect(Collectors.toMap(node -> node.id, node -> node));
+    @Override
+    public InterfaceDictionary getInterfaceDictionary() {
+        return interfaceDictionary.get();
+    }
 
-        globalComptagDeclarations = cfileXmlCached.cfile.gcomptagdecl
-                .stream()
-                .map(x -> compinfos.get(x.icinfo))
-                .collect(Collectors.toMap(node -> node.ckey,
-                                          node -> node));
+    @Override
+    public AssignmentDictionary getAssignments() {
+        return assignments.get();
+    }
 
-        globalComptagDefinitions = cfileXmlCached.cfile.gcomptag
-                .stream()
-                .map(x -> compinfos.get(x.icinfo))
-                .collect(Collectors.toMap(node -> node.ckey,
-                                          node -> node));
+    private CApplicationImpl getApp() {
+        return (CApplicationImpl) application;
+    }
 
-        cfileXmlCached = null;
+    /**
+     * reads <code>&lt;stem&gt;&lt;suffix&gt;.xml</code> next to the
+     * _cfile.xml; empty if there is none or it could not be read
+     */
+    private <X extends AnalysisXml, T> T readFileXml(String suffix, Class<X> clazz, Function<X, T> reader,
+            T empty) {
+        if (origin == null) {
+            return empty;
+        }
+        final String prefix = FsAbstraction.stemOf(origin, FsAbstraction.CFILE_SUFFIX);
+        final File xmlFile = new File(origin.getParentFile(), FsAbstraction.xmlName(prefix, suffix));
 
-        varinfos = cdict.cfile.cDeclarations.varinfos
-                .stream()
-                .map(CVarInfo::new)
-                .collect(Collectors.toMap(node -> node.id, node -> node));
+        final List<T> read = new ArrayList<>(1);
+        getApp().readXmlFile(xmlFile, clazz, xml -> read.add(reader.apply(xml)));
+        return read.isEmpty() ? empty : read.get(0);
+    }
+
+    /**
+     * the application's entry for a compinfo with a global key, the file's
+     * own otherwise; the _gxrefs.xml must be read before the table is built
+     */
+    private CCompInfo compInfo(DecodedNode row) {
+        final CCompInfo local = new CCompInfo(row);
+        final int gckey = getGlobalCompKey(local.ckey);
+        return gckey < 0 ? local : getApp().compInfos.get(gckey, local);
+    }
+
+    /**
+     * keeps the tables as xml rows; each is built and bound on its first
+     * lookup, see {@link DictionaryTable}
+     */
+    public void readCDictFile(CdictXml cdict, ExpFactory ef) {
 
-        types = cdict.cfile.cDictionary.types
-                .stream()
-                .map(cTypeFactory::build)
-                .collect(Collectors.toMap(node -> node.id, node -> node));
+        LOG.debug("Parsing ({}) {} ", this.getName(), cdict.getOrigin());
 
-        funArg = cdict.cfile.cDictionary.funArg
-                .stream()
-                .map(CFunArg::new)
-                .collect(Collectors.toMap(node -> node.id, node -> node));
+        final CTypeFactory cTypeFactory = new CTypeFactory();
 
-        funArgs = cdict.cfile.cDictionary.funArgs
-                .stream()
-                .map(CFunArgs::new)
-                .collect(Collectors.toMap(node -> node.id, node -> node));
+        final IndexedTable compinfoRows = new IndexedTable("compinfo", cdict.cfile.cDeclarations.compinfos,
+                getApp().symbols);
+        compinfos = new DictionaryTable<>("compinfo", dictionary, compinfoRows.decoded(), this::compInfo,
+                row -> row.index, null);
 
-        offsets = cdict.cfile.cDictionary.offsets
-                .stream()
-                .map(COffset::new)
-                .collect(Collectors.toMap(node -> node.id, node -> node));
+        globalComptagDeclarations = new DictionaryTable<Integer, CCompInfo>("GCompTagDecl", dictionary,
+                cfileXmlCached.cfile.gcomptagdecl.stream().map(x -> x.icinfo).collect(Collectors.toList()),
+                compinfos::get, icinfo -> compinfoRows.getArg(icinfo, 0), null).builtFrom(compinfos);
 
-        lvalues = cdict.cfile.cDictionary.lvals
-                .stream()
-                .map(CLval::new)
-                .collect(Collectors.toMap(node -> node.id, node -> node));
+        globalComptagDefinitions = new DictionaryTable<Integer, CCompInfo>("GCompTag", dictionary,
+                cfileXmlCached.cfile.gcomptag.stream().map(x -> x.icinfo).collect(Collectors.toList()),
+                compinfos::get, icinfo -> compinfoRows.getArg(icinfo, 0), null).builtFrom(compinfos);
+
+        cfileXmlCached = null;
+
+        dictionaryHash = new ContentHash()
+                .addNodes(cdict.cfile.cDeclarations.locations)
+                .addStrings(cdict.cfile.cDeclarations.filenames)
+                .addNodes(cdict.cfile.cDeclarations.varinfos)
+                .addNodes(cdict.cfile.cDeclarations.compinfos)
+                .addNodes(cdict.cfile.cDictionary.constants)
+                .addNodes(cdict.cfile.cDictionary.expressions)
+                .addNodes(cdict.cfile.cDictionary.lhosts)
+                .addNodes(cdict.cfile.cDictionary.lvals)
+                .addNodes(cdict.cfile.cDictionary.funArg)
+                .addNodes(cdict.cfile.cDictionary.funArgs)
+                .addNodes(cdict.cfile.cDictionary.offsets)
+                .addStrings(cdict.cfile.cDictionary.strings)
+                .addNodes(cdict.cfile.cDictionary.types)
+                .get();
+
+        varinfos = table("var info", cdict.cfile.cDeclarations.varinfos, CVarInfo::new, true);
+        types = table("type", cdict.cfile.cDictionary.types, cTypeFactory::build, true);
+        funArg = table("CFunArg", cdict.cfile.cDictionary.funArg, CFunArg::new, true);
+        funArgs = table("funArgs", cdict.cfile.cDictionary.funArgs, CFunArgs::new, true);
+        offsets = table("offset", cdict.cfile.cDictionary.offsets, COffset::new, true);
+        lvalues = table("lvalue", cdict.cfile.cDictionary.lvals, CLval::new, true);
 
         final BinaryOperator<CString> mergeFunction = (a, b) -> {
             LOG.error("duplicate string key in file {} : {}", this.getName(), a);
             return a;
         };
+        strings = new DictionaryTable<>("string", dictionary, cdict.cfile.cDictionary.strings, CString::new,
+                s -> s.index, null, mergeFunction);
 
-        strings = cdict.cfile.cDictionary.strings
-                .stream()
-                .map(CString::new)
-                .collect(Collectors.toConcurrentMap(node -> node.id, node -> node,
-                                                    mergeFunction));
-
-        constants = cdict.cfile.cDictionary.constants
-                .stream()
-                .map(node -> new CConst(
-                        node,
-                        this))
-                .collect(Collectors.toMap(node -> node.id, node -> node));
-
-        expressions = cdict.cfile.cDictionary.expressions
-                .stream()
-                .map(node -> ef.build(node))
-                .collect(Collectors.toMap(node -> node.id, node -> node));
-
-        lhosts = cdict.cfile.cDictionary.lhosts
-                .stream()
-                .map(CLHost::new)
-                .collect(Collectors.toMap(node -> node.id, node -> node));
-
-        // binding
-        bind(types.values());
-        bind(constants.values());
-        bind(offsets.values());
-        bind(lvalues.values());
-        bind(lhosts.values());
-        bind(expressions.values());
-
-        bind(funArg.values());
-        bind(funArgs.values());
+        constants = table("constant", cdict.cfile.cDictionary.constants, node -> new CConst(node, this), true);
+        expressions = table("exp", cdict.cfile.cDictionary.expressions, ef::build, true);
+        lhosts = table("lhost", cdict.cfile.cDictionary.lhosts, CLHost::new, true);
 
         filenamesIndex = new HashMap<>();
         for (final IndexedStrignTable node : cdict.cfile.cDeclarations.filenames) {
             filenamesIndex.put(node.index, node.value);
         }
 
-        // parsing locations
-        locations = cdict.cfile.cDeclarations.locations
-                .stream()
-                .map(node -> new CLocationImpl(
-                        node,
-                        this,
-                        this.application))
-                .collect(Collectors.toMap(node -> node.id, node -> node));
+        locations = table("location", cdict.cfile.cDeclarations.locations,
+                          node -> new CLocationImpl(node, this, this.application), false);
+    }
 
-        bind(varinfos.values());
+    /**
+     * builds and binds, concurrently, the tables not yet materialized; for
+     * consumers about to render most of the file
+     */
+    void materializeDictionary() {
+        if (!hasDictionary()) {
+            return;
+        }
+        final Map<DictionaryTable<?, ?>, List<DictionaryTable<?, ?>>> lookups = new IdentityHashMap<>();
+        lookups.put(compinfos, Collections.emptyList());
+        lookups.put(globalComptagDeclarations, Collections.emptyList());
+        lookups.put(globalComptagDefinitions, Collections.emptyList());
+        lookups.put(strings, Collections.emptyList());
+        lookups.put(locations, Collections.emptyList());
+        lookups.put(types, Arrays.asList(types, funArgs, globalComptagDefinitions, globalComptagDeclarations));
+        lookups.put(funArg, Arrays.asList(types));
+        lookups.put(funArgs, Arrays.asList(funArg));
+        lookups.put(constants, Arrays.asList(strings));
+        lookups.put(offsets, Arrays.asList(offsets, expressions));
+        lookups.put(lvalues, Arrays.asList(lhosts, offsets));
+        lookups.put(lhosts, Arrays.asList(expressions));
+        lookups.put(expressions, Arrays.asList(expressions, constants, lvalues, types));
+        lookups.put(varinfos, Arrays.asList(locations, types));
+        dictionary.materialize(lookups);
+    }
 
+    /**
+     * the rows are kept as an {@link IndexedTable} until the table is built,
+     * and each is decoded once, into the {@link DecodedNode} the factory gets
+     */
+    private <T> DictionaryTable<DecodedNode, T> table(String name, List<IndexedTableNode> rows,
+            Function<DecodedNode, T> factory, boolean bindable) {
+        return new DictionaryTable<>(name, dictionary, new IndexedTable(name, rows, getApp().symbols).decoded(),
+                factory, row -> row.index, bindable ? value -> ((Bindable) value).bind(this) : null);
     }
 
     HashMap<Integer, String> filenamesIndex;
 
     public void readPrdFile(PrdXml prdXml, PredicatesFactory pf) {
         LOG.debug("reading {}", prdXml.getOrigin());
-        Preconditions.checkState(null != expressions,
+        Preconditions.checkState(hasDictionary(),
                                  "expressions map is null for " + prdXml.getOrigin());
 
         predicates = new HashMap<>();
+        dictionaryHash = new ContentHash()
+                .add(dictionaryHash)
+                .addNodes(prdXml.predicatesDictionary.predicates)
+                .get();
 
         for (final IndexedTableNode node : prdXml.predicatesDictionary.predicates) {
             final Integer pk = node.index;
@@ -337,12 +520,9 @@ class CFileImpl implements CFile {
             }
 
         }
-        bind(predicates.values());
-
-    }
+        /* bound on first use; most consumers never render them */
+        predicates.values().forEach(prd -> prd.bindLater(this));
 
-    private void bind(Collection<? extends Bindable> collection) {
-        collection.forEach(exp -> exp.bind(this));
     }
 
 }
@@ -29,7 +29,6 @@ import java.util.List;
 import org.apache.commons.lang.StringUtils;
 
 import com.kt.advance.model.CTypeFactory.CType;
-import com.kt.advance.xml.model.IndexedTableNode;
 
 class CFunArgs extends Indexed implements Bindable {
 
@@ -39,7 +38,7 @@ class CFunArgs extends Indexed implements Bindable {
 
         CType type;
 
-        public CFunArg(IndexedTableNode node) {
+        public CFunArg(DecodedNode node) {
             super(node);
         }
 
@@ -65,14 +64,14 @@ class CFunArgs extends Indexed implements Bindable {
     Integer[]     args;
 
     private CFunArgs() {
-        super(null);
+        super((DecodedNode) null);
     }
 
     public final static CFunArgs NO_ARGS = new CFunArgs();
 
-    public CFunArgs(IndexedTableNode node) {
+    public CFunArgs(DecodedNode node) {
         super(node);
-        args = node.getArguments();
+        args = node.args;
     }
 
     @Override
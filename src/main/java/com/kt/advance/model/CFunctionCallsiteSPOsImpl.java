@@ -26,9 +26,10 @@ package com.kt.advance.model;
 import static com.kt.advance.Util.putUniq;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
+import com.kt.advance.api.CFile;
 import com.kt.advance.api.CFunction;
 import com.kt.advance.api.CFunctionCallsiteSPOs;
 import com.kt.advance.api.CLocation;
@@ -39,9 +40,14 @@ import com.kt.advance.xml.model.SpoXml.SPOCall;
 
 class CFunctionCallsiteSPOsImpl implements CFunctionCallsiteSPOs {
 
-    private final CExpression       exp;
+    private final CFile             cfile;
+    /**
+     * looked up on first use: binding the expression table is the costliest
+     * part of reading a cdict
+     */
+    private final Integer           expId;
     private final CLocation         location;
-    private final Map<Integer, SPO> spos = new HashMap<>();
+    private final Map<Integer, SPO> spos = new TreeMap<>();
 
     private final CVarInfo callee;
 
@@ -62,12 +68,8 @@ class CFunctionCallsiteSPOsImpl implements CFunctionCallsiteSPOs {
 
         this.location = cfunc.getCfile().getLocation(call.iloc);
 
-        if (call.iexp != null) {
-            exp = cfunc.getCfile().getExression(call.iexp);
-        }
-        else {
-            exp = null;
-        }
+        this.cfile = cfunc.getCfile();
+        this.expId = call.iexp;
 
         callee = call.callee != null ? cfunc.getCfile().getVarInfo(call.callee) : null;
 
@@ -85,7 +87,7 @@ class CFunctionCallsiteSPOsImpl implements CFunctionCallsiteSPOs {
 
     @Override
     public CExpression getExp() {
-        return exp;
+        return expId == null ? null : cfile.getExression(expId);
     }
 
     @Override
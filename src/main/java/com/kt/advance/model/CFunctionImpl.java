@@ -2,16 +2,23 @@ package com.kt.advance.model;
 
 import static com.kt.advance.Util.requireValue;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Preconditions;
 import com.kt.advance.ErrorsBundle;
+import com.kt.advance.Util;
 import com.kt.advance.api.Assumption;
 import com.kt.advance.api.Assumption.AssumptionTypeCode;
 import com.kt.advance.api.CFile;
@@ -19,16 +26,23 @@ import com.kt.advance.api.CFunction;
 import com.kt.advance.api.CFunctionCallsiteSPOs;
 import com.kt.advance.api.CFunctionSiteSPOs;
 import com.kt.advance.api.CLocation;
+import com.kt.advance.api.Definitions.POLevel;
+import com.kt.advance.api.FsAbstraction;
 import com.kt.advance.api.PPO;
+import com.kt.advance.api.SPO;
+import com.kt.advance.xml.XmlReadFailedException;
+import com.kt.advance.xml.model.AnalysisXml;
 import com.kt.advance.xml.model.ApiXml;
 import com.kt.advance.xml.model.ApiXml.ApiAssumptionNode;
 import com.kt.advance.xml.model.CFunXml;
+import com.kt.advance.xml.model.InvsXml;
 import com.kt.advance.xml.model.PodXml;
 import com.kt.advance.xml.model.PpoXml;
 import com.kt.advance.xml.model.SpoXml;
 import com.kt.advance.xml.model.SpoXml.CallsitesWrapper;
 import com.kt.advance.xml.model.SpoXml.RSElement;
 import com.kt.advance.xml.model.SpoXml.SPOCall;
+import com.kt.advance.xml.model.VarsXml;
 
 class CFunctionImpl implements CFunction {
 
@@ -45,19 +59,64 @@ class CFunctionImpl implements CFunction {
         return requireValue(assumptionsTypesMap, typeKey, "AssumptionType ");
     }
 
+    /**
+     * @return null if there is no such assumption type
+     */
+    AssumptionType findAssumptionType(int typeKey) {
+        return assumptionsTypesMap == null ? null : assumptionsTypesMap.get(typeKey);
+    }
+
+    private volatile FunctionDependencies dependencies;
+
+    @Override
+    public FunctionDependencies getDependencies() {
+        FunctionDependencies d = dependencies;
+        if (d == null) {
+            d = new FunctionDependencies(this);
+            dependencies = d;
+        }
+        return d;
+    }
+
     private final List<CFunctionCallsiteSPOs> callsites   = new ArrayList<>();
     private final List<CFunctionSiteSPOs>     returnsites = new ArrayList<>();
 
-    private Map<Integer, PPOImpl> ppos = new HashMap<>();
+    private Map<Integer, PPOImpl> ppos = new TreeMap<>();
 
     private Map<Integer, PoTypeRef> ppoTypes;
 
     private Map<Integer, PoTypeRef> spoTypes;
 
+    /**
+     * callsite SPOs by the api-assumption id they are external to, built once
+     * by {@link #readSpoFile(SpoXml, ErrorsBundle)}
+     */
+    private Map<Integer, Set<SPO>> callsiteSposByApiId = Collections.emptyMap();
+
     private final CFileImpl cfile;
     private final String    name;
     public final CVarInfo   varInfo;
 
+    /**
+     * the _cfun.xml; the function's other XMLs are next to it
+     */
+    private final File origin;
+
+    /*
+     * the XMLs next to the _cfun.xml
+     */
+    private final LazyXml<InvariantTable> invariants = new LazyXml<>(
+            () -> readFunctionXml(FsAbstraction.INVS_SUFFIX, InvsXml.class, InvariantTable::new,
+                                  InvariantTable.EMPTY));
+
+    private final LazyXml<VarDictionary> variables = new LazyXml<>(
+            () -> readFunctionXml(FsAbstraction.VARS_SUFFIX, VarsXml.class,
+                                  xml -> new VarDictionary(xml, getApplication().symbols),
+                                  VarDictionary.EMPTY));
+
+    private volatile Map<Integer, PODiagnostics> ppoDiagnostics;
+    private volatile Map<Integer, PODiagnostics> spoDiagnostics;
+
     public CFunctionImpl(CFunXml cfunXml, CFileImpl cfile) {
         Preconditions.checkNotNull(cfunXml, "cfunXml is null");
         Preconditions.checkNotNull(cfunXml.getFunctionName(), "funcName is null");
@@ -65,10 +124,81 @@ class CFunctionImpl implements CFunction {
 
         this.varInfo = cfile.getVarInfo(cfunXml.function.svar.ivinfo);
         this.name = cfunXml.getFunctionName();
+        this.origin = cfunXml.getOrigin();
 
         this.cfile = cfile;
     }
 
+    File getXmlFile(String suffix) {
+        return new File(origin.getParentFile(),
+                FsAbstraction.xmlName(FsAbstraction.stemOf(origin, FsAbstraction.CFUN_SUFFIX), suffix));
+    }
+
+    @Override
+    public InvariantTable getInvariants() {
+        return invariants.get();
+    }
+
+    @Override
+    public VarDictionary getVariables() {
+        return variables.get();
+    }
+
+    /**
+     * the &lt;d&gt; nodes of the _ppo.xml or _spo.xml are read on the first
+     * request for any PO of that level; errors go to the app's ErrorsBundle
+     */
+    PODiagnostics getDiagnostics(POLevel level, Integer poId) {
+        final boolean primary = level == POLevel.PRIMARY;
+        Map<Integer, PODiagnostics> diagnostics = primary ? ppoDiagnostics : spoDiagnostics;
+        if (diagnostics == null) {
+            synchronized (this) {
+                diagnostics = primary ? ppoDiagnostics : spoDiagnostics;
+                if (diagnostics == null) {
+                    diagnostics = readDiagnostics(primary);
+                    if (primary) {
+                        ppoDiagnostics = diagnostics;
+                    }
+                    else {
+                        spoDiagnostics = diagnostics;
+                    }
+                }
+            }
+        }
+        return diagnostics.getOrDefault(poId, PODiagnostics.EMPTY);
+    }
+
+    private Map<Integer, PODiagnostics> readDiagnostics(boolean primary) {
+        final File file = origin == null ? null
+                : getXmlFile(primary ? FsAbstraction.PPO_SUFFIX : FsAbstraction.SPO_SUFFIX);
+        if (file == null || !file.isFile()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return primary ? PODiagnosticsReader.readPpos(file) : PODiagnosticsReader.readSpos(file);
+        } catch (final XmlReadFailedException e) {
+            final ErrorsBundle errors = getApplication().getErrors();
+            if (errors != null) {
+                errors.addError(file.getName(), e.getLocalizedMessage());
+            }
+            return Collections.emptyMap();
+        }
+    }
+
+    CApplicationImpl getApplication() {
+        return (CApplicationImpl) cfile.getApplication();
+    }
+
+    private <X extends AnalysisXml, T> T readFunctionXml(String suffix, Class<X> clazz, Function<X, T> reader,
+            T empty) {
+        if (origin == null) {
+            return empty;
+        }
+        final List<T> read = new ArrayList<>(1);
+        getApplication().readXmlFile(getXmlFile(suffix), clazz, xml -> read.add(reader.apply(xml)));
+        return read.isEmpty() ? empty : read.get(0);
+    }
+
     @Override
     public CFile getCfile() {
         return cfile;
@@ -125,7 +255,7 @@ class CFunctionImpl implements CFunction {
                         apiNode,
                         this,
                         AssumptionTypeCode.aa))
-                .collect(Collectors.toMap(a -> a.index, a -> a));
+                .collect(Util.toSortedMap(a -> a.index));
 
         final List<ApiAssumptionNode> globalAssumptions = apiXml.getGlobalAssumptions();
         if (globalAssumptions != null) {
@@ -142,7 +272,7 @@ class CFunctionImpl implements CFunction {
     }
 
     public void readPodFile(PodXml dict, CFileImpl cfile) {
-        Preconditions.checkState(null != cfile.locations, "locations map is null");
+        Preconditions.checkState(cfile.hasDictionary(), "locations map is null");
         Preconditions.checkState(null != cfile.predicates, "predicates map is null");
 
         ppoTypes = dict.function.ppoTypes
@@ -178,7 +308,7 @@ class CFunctionImpl implements CFunction {
                 .map(x -> new PPOImpl(
                         x,
                         this))
-                .collect(Collectors.toMap(node -> node.getId(), node -> node));
+                .collect(Util.toSortedMap(node -> node.getId()));
 
     }
 
@@ -200,6 +330,65 @@ class CFunctionImpl implements CFunction {
 
         addReturnsites(pposXml.getReturnsites(), "rs");
 
+        indexCallsiteSpos();
+    }
+
+    private void indexCallsiteSpos() {
+        final Map<Integer, Set<SPO>> index = new HashMap<>();
+        for (final CFunctionCallsiteSPOs callsite : callsites) {
+            for (final SPO spo : callsite.getSpos()) {
+                final Integer apiId = spo.getType().getExternalId();
+                if (apiId != null) {
+                    index.computeIfAbsent(apiId, k -> new HashSet<>()).add(spo);
+                }
+            }
+        }
+        index.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+        this.callsiteSposByApiId = index;
+    }
+
+    /**
+     * @return callsite SPOs associated with the api assumptions the PPO depends
+     *         on
+     */
+    Set<SPO> getAssociatedSpos(PPO ppo) {
+        Set<SPO> single = null;
+        Set<SPO> collected = null;
+
+        for (final Integer id : ppo.getDeps().ids) {
+            final AssumptionType assumptionType = getAssumptionType(id);
+            if (assumptionType.type != AssumptionTypeCode.aa) {
+                continue;
+            }
+
+            final Set<SPO> spos = callsiteSposByApiId.get(assumptionType.apiId);
+            if (spos == null || spos == single) {
+                continue;
+            }
+            if (single == null) {
+                single = spos;
+            }
+            else {
+                if (collected == null) {
+                    collected = new HashSet<>(single);
+                }
+                collected.addAll(spos);
+            }
+        }
+
+        if (collected != null) {
+            return Collections.unmodifiableSet(collected);
+        }
+        return single != null ? single : Collections.emptySet();
+    }
+
+    @Override
+    public Map<PPO, Set<SPO>> getAssociatedSpos() {
+        final Map<PPO, Set<SPO>> associated = new LinkedHashMap<>();
+        for (final PPOImpl ppo : ppos.values()) {
+            associated.put(ppo, getAssociatedSpos(ppo));
+        }
+        return associated;
     }
 
     private void addReturnsites(List<RSElement> collection, String callsType) {
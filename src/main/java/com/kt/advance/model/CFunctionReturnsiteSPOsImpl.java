@@ -26,9 +26,10 @@ package com.kt.advance.model;
 import static com.kt.advance.Util.putUniq;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
+import com.kt.advance.api.CFile;
 import com.kt.advance.api.CFunction;
 import com.kt.advance.api.CFunctionSiteSPOs;
 import com.kt.advance.api.CLocation;
@@ -39,9 +40,13 @@ import com.kt.advance.xml.model.SpoXml.RSElement;
 
 class CFunctionReturnsiteSPOsImpl implements CFunctionSiteSPOs {
 
-    private final CExpression       exp;
+    private final CFile             cfile;
+    /**
+     * looked up on first use, like the callsite expressions
+     */
+    private final Integer           expId;
     private final CLocation         location;
-    private final Map<Integer, SPO> spos = new HashMap<>();
+    private final Map<Integer, SPO> spos = new TreeMap<>();
 
     private final String type;
 
@@ -55,12 +60,8 @@ class CFunctionReturnsiteSPOsImpl implements CFunctionSiteSPOs {
 
         this.location = cfunc.getCfile().getLocation(rs.iloc);
 
-        if (rs.iexp != null) {
-            exp = cfunc.getCfile().getExression(rs.iexp);
-        }
-        else {
-            exp = null;
-        }
+        this.cfile = cfunc.getCfile();
+        this.expId = rs.iexp;
 
         for (final PCElement postcondition : rs.postconditions) {
 
@@ -77,7 +78,7 @@ class CFunctionReturnsiteSPOsImpl implements CFunctionSiteSPOs {
 
     @Override
     public CExpression getExp() {
-        return exp;
+        return expId == null ? null : cfile.getExression(expId);
     }
 
     @Override
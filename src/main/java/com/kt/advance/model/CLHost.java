@@ -25,19 +25,18 @@ package com.kt.advance.model;
 
 import com.kt.advance.Util;
 import com.kt.advance.model.ExpFactory.CExpression;
-import com.kt.advance.xml.model.IndexedTableNode;
 
-class CLHost extends Indexed implements Bindable {
+class CLHost extends MemoizedIndexed implements Bindable {
     public CExpression exp;
     public Integer     varId, expId;
 
     public String varName;
 
-    public CLHost(IndexedTableNode node) {
+    public CLHost(DecodedNode node) {
         super(node);
 
-        final Integer[] args = node.getArguments();
-        final String[] tags = node.getTagsSplit();
+        final Integer[] args = node.args;
+        final String[] tags = node.tags;
         final String kind = tags[0];
 
         if ("mem".equals(kind)) {
@@ -59,10 +58,11 @@ class CLHost extends Indexed implements Bindable {
         if (expId != null) {
             this.exp = cfile.getExression(expId);
         }
+        markBound();
     }
 
     @Override
-    public String toString() {
+    String render() {
         if (exp != null) {
             return Util.bra("*" + exp);
         }
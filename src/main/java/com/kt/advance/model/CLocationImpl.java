@@ -28,7 +28,6 @@ import com.kt.advance.api.CApplication;
 import com.kt.advance.api.CFile;
 import com.kt.advance.api.CLocation;
 import com.kt.advance.api.MissingKeyException;
-import com.kt.advance.xml.model.IndexedTableNode;
 
 /**
 
@@ -59,10 +58,10 @@ class CLocationImpl extends Indexed implements CLocation {
     private final Integer line;
     private String        filename;
 
-    public CLocationImpl(IndexedTableNode node, CFile cfile, CApplication app) {
+    public CLocationImpl(DecodedNode node, CFile cfile, CApplication app) {
         super(node);
 
-        final Integer[] args = node.getArguments();
+        final Integer[] args = node.args;
         this.byteNo = args[1];
         this.line = args[2];
         final String fn = cfile.getFilename(args[0]);
@@ -23,9 +23,8 @@
  */
 package com.kt.advance.model;
 
-import com.kt.advance.xml.model.IndexedTableNode;
 
-public class CLval extends Indexed implements Bindable {
+public class CLval extends MemoizedIndexed implements Bindable {
 
     public CLHost lhost;
     final int     lhostId;
@@ -33,10 +32,10 @@ public class CLval extends Indexed implements Bindable {
 
     final int offsetId;
 
-    public CLval(IndexedTableNode node) {
+    public CLval(DecodedNode node) {
         super(node);
 
-        final Integer[] args = node.getArguments();
+        final Integer[] args = node.args;
         lhostId = args[0];
         offsetId = args[1];
 
@@ -46,10 +45,11 @@ public class CLval extends Indexed implements Bindable {
     public void bind(CFileImpl cfile) {
         this.lhost = cfile.getLHost(lhostId);
         this.offset = cfile.getOffest(offsetId);
+        markBound();
     }
 
     @Override
-    public String toString() {
+    String render() {
         return lhost.toString() + offset.toString();
     }
 
@@ -24,9 +24,8 @@
 package com.kt.advance.model;
 
 import com.kt.advance.model.ExpFactory.CExpression;
-import com.kt.advance.xml.model.IndexedTableNode;
 
-class COffset extends Indexed implements Bindable {
+class COffset extends MemoizedIndexed implements Bindable {
     CExpression exp;
     Integer     expId, offsetId;
 
@@ -34,10 +33,10 @@ class COffset extends Indexed implements Bindable {
     boolean noOffset = false;
     COffset offset;
 
-    public COffset(IndexedTableNode node) {
+    public COffset(DecodedNode node) {
         super(node);
-        final Integer[] args = node.getArguments();
-        final String[] tags = node.getTagsSplit();
+        final Integer[] args = node.args;
+        final String[] tags = node.tags;
         final String kind = tags[0];
 
         if ("i".equals(kind)) {
@@ -68,10 +67,11 @@ class COffset extends Indexed implements Bindable {
         if (expId != null) {
             this.exp = cfile.getExression(expId);
         }
+        markBound();
     }
 
     @Override
-    public String toString() {
+    String render() {
         if (noOffset) {
             return "";
         }
@@ -28,34 +28,44 @@ import java.util.Map;
 import com.google.common.collect.ImmutableMap;
 import com.kt.advance.Util;
 import com.kt.advance.model.CTypeFactory.CType;
-import com.kt.advance.xml.model.IndexedTableNode;
 
 public class CTypeFactory extends AbstractFactory<CType> {
     public static class CCompInfo extends Indexed {
         final String         name;
         final Boolean        isStruct;
+        /**
+         * the global key when shared by the files, see
+         * {@link GlobalCompInfos}; the file-local one otherwise
+         */
         public final Integer ckey;
 
-        public CCompInfo(IndexedTableNode node) {
+        public CCompInfo(DecodedNode node) {
             super(node);
 
-            this.name = node.getTagsSplit()[0];
-            final Integer[] args = node.getArguments();
+            this.name = node.getTag();
+            final Integer[] args = node.args;
             this.isStruct = args[1] == 1;
             ckey = args[0];
         }
+
+        CCompInfo(int gckey, String name, boolean isStruct) {
+            super((DecodedNode) null);
+            this.name = name;
+            this.isStruct = isStruct;
+            this.ckey = gckey;
+        }
     }
 
     public static class CTypComp extends CType {
         Integer   ckey;
         CCompInfo struct;
 
-        public CTypComp(IndexedTableNode node) {
+        public CTypComp(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String toString() {
+        String render() {
             return struct.isStruct ? "struct " + struct.name + Util.bra(ckey.toString())
                     : "union " + struct.name + Util.bra(ckey.toString());
         }
@@ -68,14 +78,14 @@ public class CTypeFactory extends AbstractFactory<CType> {
 
     }
 
-    public static abstract class CType extends Indexed implements Bindable {
+    public static abstract class CType extends MemoizedIndexed implements Bindable {
         private Integer[] args;
         private String[]  tags;
 
-        public CType(IndexedTableNode node) {
+        public CType(DecodedNode node) {
             super(node);
-            tags = node.getTagsSplit();
-            args = node.getArguments();
+            tags = node.tags;
+            args = node.args;
 
         }
 
@@ -85,12 +95,9 @@ public class CTypeFactory extends AbstractFactory<CType> {
 
             tags = null;
             args = null;
-
+            markBound();
         }
 
-        @Override
-        public abstract String toString();
-
         abstract void bindImpl(CFileImpl cfile, Integer[] args, String[] tags);
 
     }
@@ -99,12 +106,12 @@ public class CTypeFactory extends AbstractFactory<CType> {
 
         CType ref;
 
-        public CTypePtr(IndexedTableNode node) {
+        public CTypePtr(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.bra(ref.toString() + " *");
         }
 
@@ -125,12 +132,12 @@ public class CTypeFactory extends AbstractFactory<CType> {
         CType    returnType;
         CFunArgs funArgs;
 
-        public CTypFun(IndexedTableNode node) {
+        public CTypFun(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.bra(funArgs.toString()) + ":" + returnType.toString();
         }
 
@@ -145,12 +152,12 @@ public class CTypeFactory extends AbstractFactory<CType> {
     public static class CTypeUnknown extends CType {
         String kind;
 
-        public CTypeUnknown(IndexedTableNode node) {
+        public CTypeUnknown(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String toString() {
+        String render() {
             return "-" + kind + "-";
         }
 
@@ -183,12 +190,12 @@ public class CTypeFactory extends AbstractFactory<CType> {
 
         String kind;
 
-        public CTypInt(IndexedTableNode node) {
+        public CTypInt(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String toString() {
+        String render() {
             // TODO add attributes
             return kind;// (integernames[self.get_kind()] + '[' + str(self.get_attributes()) + ']')
         }
@@ -212,12 +219,12 @@ public class CTypeFactory extends AbstractFactory<CType> {
 
         String kind;
 
-        public CTypFloat(IndexedTableNode node) {
+        public CTypFloat(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String toString() {
+        String render() {
             // TODO add attributes
             return kind;// (integernames[self.get_kind()] + '[' + str(self.get_attributes()) + ']')
         }
@@ -239,12 +246,12 @@ public class CTypeFactory extends AbstractFactory<CType> {
     public static class CTypNamed extends CType {
         String name;
 
-        public CTypNamed(IndexedTableNode node) {
+        public CTypNamed(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String toString() {
+        String render() {
             // TODO add attributes
             return name;
         }
@@ -258,12 +265,12 @@ public class CTypeFactory extends AbstractFactory<CType> {
 
     public static class CTypVoid extends CType {
 
-        public CTypVoid(IndexedTableNode node) {
+        public CTypVoid(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String toString() {
+        String render() {
             // TODO add attributes
             return "void";
         }
@@ -298,8 +305,7 @@ public class CTypeFactory extends AbstractFactory<CType> {
     }
 
     @Override
-    public CType build(IndexedTableNode node) {
-        return super.buildImpl(node, node.getTagsSplit()[0], new CTypeUnknown(
-            node));
+    public CType build(DecodedNode node) {
+        return super.buildImpl(node, CTypeUnknown::new);
     }
 }
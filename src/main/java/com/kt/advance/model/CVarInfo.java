@@ -27,17 +27,21 @@ package com.kt.advance.model;
 
 import com.kt.advance.api.CLocation;
 import com.kt.advance.model.CTypeFactory.CType;
-import com.kt.advance.xml.model.IndexedTableNode;
 
 public class CVarInfo extends Indexed implements Bindable {
     public String name;
 
+    /**
+     * file-local varinfo id, see {@link GlobalXrefs}
+     */
+    public int vid;
+
     public CLocation location;
 
     int          locId, vtypeId;
     public CType type;
 
-    public CVarInfo(IndexedTableNode node) {
+    public CVarInfo(DecodedNode node) {
         super(node);
     }
 
@@ -62,6 +66,7 @@ public class CVarInfo extends Indexed implements Bindable {
     @Override
     protected void init(Integer[] args, String[] tags) {
         this.name = tags[0];
+        this.vid = args[0];
         this.vtypeId = args[1];
         this.locId = args[5];
     }
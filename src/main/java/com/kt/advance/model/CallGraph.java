@@ -0,0 +1,248 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.CFunctionCallsiteSPOs;
+
+/**
+ * Application call graph over the functions of all files, from the callsites
+ * of the _spo files. Direct calls are resolved across files, see
+ * {@link CApplicationImpl#findCallee(CFunction, CVarInfo)}; calls to library
+ * functions and indirect calls without a known callee have no edge.
+ *
+ * Functions are numbered densely in file and name order; calls are kept in
+ * compressed sparse row arrays, both ways, one edge per caller/callee pair.
+ *
+ * @author artem
+ *
+ */
+public final class CallGraph {
+
+    static final CallGraph EMPTY = new CallGraph(new CFunction[0], Collections.emptyMap(), Csr.empty(0), 0);
+
+    private final CFunction[]            functions;
+    private final Map<CFunction, Integer> ids;
+
+    private final Csr callees;
+    private final Csr callers;
+
+    private final int unresolvedCallsites;
+
+    private volatile int[] components;
+
+    private CallGraph(CFunction[] functions, Map<CFunction, Integer> ids, Csr callees, int unresolvedCallsites) {
+        this.functions = functions;
+        this.ids = ids;
+        this.callees = callees;
+        this.callers = callees.transpose();
+        this.unresolvedCallsites = unresolvedCallsites;
+    }
+
+    static CallGraph build(CApplicationImpl app) {
+        final List<CFunction> list = new ArrayList<>();
+        for (final CFile cfile : app.getCfiles()) {
+            list.addAll(cfile.getCFunctions());
+        }
+
+        final CFunction[] functions = list.toArray(new CFunction[list.size()]);
+        final Map<CFunction, Integer> ids = new IdentityHashMap<>(functions.length);
+        for (int i = 0; i < functions.length; i++) {
+            ids.put(functions[i], i);
+        }
+
+        final int[] unresolved = new int[functions.length];
+        final int[][] rows = new int[functions.length][];
+        Arrays.parallelSetAll(rows, i -> {
+            final CFunction caller = functions[i];
+            final int[] row = new int[caller.getCallsites().size()];
+            int size = 0;
+            for (final CFunctionCallsiteSPOs site : caller.getCallsites()) {
+                final CFunction callee = site.getCallee() == null ? null : app.findCallee(caller, site.getCallee());
+                if (callee == null) {
+                    unresolved[i]++;
+                }
+                else {
+                    row[size++] = ids.get(callee);
+                }
+            }
+            Arrays.sort(row, 0, size);
+            return Arrays.copyOf(row, unique(row, size));
+        });
+
+        return new CallGraph(functions, ids, Csr.fromRows(rows), Arrays.stream(unresolved).sum());
+    }
+
+    /**
+     * @return size of the sorted prefix without duplicates
+     */
+    private static int unique(int[] sorted, int size) {
+        if (size == 0) {
+            return 0;
+        }
+        int last = 0;
+        for (int i = 1; i < size; i++) {
+            if (sorted[i] != sorted[last]) {
+                sorted[++last] = sorted[i];
+            }
+        }
+        return last + 1;
+    }
+
+    /**
+     * @return number of functions
+     */
+    public int size() {
+        return functions.length;
+    }
+
+    /**
+     * @return number of distinct caller/callee pairs
+     */
+    public int getEdgeCount() {
+        return callees.edgeCount();
+    }
+
+    /**
+     * @return callsites to library functions or unknown targets
+     */
+    public int getUnresolvedCallsites() {
+        return unresolvedCallsites;
+    }
+
+    /**
+     * @return number of the function, or -1 if it is not in the graph
+     */
+    public int getId(CFunction function) {
+        final Integer id = ids.get(function);
+        return id == null ? -1 : id;
+    }
+
+    public CFunction getFunction(int id) {
+        return functions[id];
+    }
+
+    public int[] getCallees(int id) {
+        return callees.row(id);
+    }
+
+    public int[] getCallers(int id) {
+        return callers.row(id);
+    }
+
+    public List<CFunction> getCallees(CFunction function) {
+        return toFunctions(callees.row(requireId(function)));
+    }
+
+    public List<CFunction> getCallers(CFunction function) {
+        return toFunctions(callers.row(requireId(function)));
+    }
+
+    /**
+     * @return functions transitively called from the given one
+     */
+    public BitSet getReachable(int id) {
+        final BitSet reachable = new BitSet(functions.length);
+        for (final int n : callees.closure(id)) {
+            reachable.set(n);
+        }
+        return reachable;
+    }
+
+    /**
+     * @return functions transitively called from the given one, breadth-first
+     */
+    public List<CFunction> getReachable(CFunction function) {
+        return toFunctions(callees.closure(requireId(function)));
+    }
+
+    /**
+     * @return functions that transitively call the given one, breadth-first
+     */
+    public List<CFunction> getTransitiveCallers(CFunction function) {
+        return toFunctions(callers.closure(requireId(function)));
+    }
+
+    /**
+     * @return strongly connected component of each function, numbered callees
+     *         first; computed once
+     */
+    public int[] getComponents() {
+        int[] c = components;
+        if (c == null) {
+            c = callees.stronglyConnectedComponents();
+            components = c;
+        }
+        return c;
+    }
+
+    public int getComponentCount() {
+        int max = -1;
+        for (final int c : getComponents()) {
+            max = Math.max(max, c);
+        }
+        return max + 1;
+    }
+
+    /**
+     * @return whether the function is part of a call cycle, including calling
+     *         itself
+     */
+    public boolean isRecursive(CFunction function) {
+        final int id = requireId(function);
+        final int[] c = getComponents();
+        for (final int callee : callees.row(id)) {
+            if (c[callee] == c[id]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int requireId(CFunction function) {
+        final int id = getId(function);
+        if (id < 0) {
+            throw new IllegalArgumentException(function.getName() + " is not in the call graph");
+        }
+        return id;
+    }
+
+    private List<CFunction> toFunctions(int[] functionIds) {
+        final List<CFunction> list = new ArrayList<>(functionIds.length);
+        for (final int id : functionIds) {
+            list.add(functions[id]);
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,249 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kt.advance.api.MissingKeyException;
+import com.kt.advance.xml.model.CtxtXml;
+import com.kt.advance.xml.model.IndexedTableNode;
+
+/**
+ * Program contexts of a file, from its _ctxt.xml.
+ *
+ * A context is a cfg context (statements, branches, instructions) and an
+ * exp context (lhs, arguments, casts ...) inside it. Both are chains of
+ * nodes, kept as parent-pointer arrays: each chain entry is its innermost
+ * node plus the chain entry of the rest. Node tags are interned in the
+ * application's {@link SymbolTable}.
+ *
+ * Paths are returned as node indexes, outermost first; nothing is
+ * allocated per node.
+ *
+ * @author artem
+ *
+ */
+public final class ContextTable {
+
+    public static final ContextTable EMPTY = new ContextTable(new CtxtXml.CContexts(), new SymbolTable());
+
+    /**
+     * one of the two chain tables
+     */
+    private static final class Chains {
+        /** innermost node of each chain, 0 for the empty chain */
+        int[] heads;
+        /** chain of the outer nodes, -1 for none */
+        int[] parents;
+        int[] depths;
+        int   size;
+
+        Chains(List<IndexedTableNode> nodes) {
+            int max = 0;
+            for (final IndexedTableNode node : nodes) {
+                max = Math.max(max, node.index);
+            }
+            heads = new int[max + 1];
+            parents = new int[max + 1];
+            depths = new int[max + 1];
+            Arrays.fill(parents, -1);
+            size = max + 1;
+
+            final Map<String, Integer> byNodes = new HashMap<>();
+            for (final IndexedTableNode node : nodes) {
+                byNodes.put(node.arguments == null ? "" : node.arguments, node.index);
+            }
+            for (final IndexedTableNode node : nodes) {
+                final String key = node.arguments == null ? "" : node.arguments;
+                if (key.isEmpty()) {
+                    continue;
+                }
+                final int comma = key.indexOf(',');
+                heads[node.index] = Integer.parseInt(comma < 0 ? key : key.substring(0, comma));
+                parents[node.index] = comma < 0 ? -1 : chainOf(key.substring(comma + 1), byNodes);
+                depths[node.index] = key.split(",").length;
+            }
+        }
+
+        /**
+         * @return the chain of these nodes; added if the table does not have
+         *         it
+         */
+        private int chainOf(String key, Map<String, Integer> byNodes) {
+            final Integer existing = byNodes.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (size == heads.length) {
+                heads = Arrays.copyOf(heads, size * 2);
+                parents = Arrays.copyOf(parents, size * 2);
+                depths = Arrays.copyOf(depths, size * 2);
+            }
+            final int index = size++;
+            byNodes.put(key, index);
+            final int comma = key.indexOf(',');
+            heads[index] = Integer.parseInt(comma < 0 ? key : key.substring(0, comma));
+            parents[index] = comma < 0 ? -1 : chainOf(key.substring(comma + 1), byNodes);
+            depths[index] = key.split(",").length;
+            return index;
+        }
+
+        int[] path(int chain) {
+            if (chain < 0 || chain >= size) {
+                throw new MissingKeyException("No context chain for the key " + chain);
+            }
+            final int[] path = new int[depths[chain]];
+            int c = chain;
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i] = heads[c];
+                c = parents[c];
+            }
+            return path;
+        }
+    }
+
+    private final SymbolTable symbols;
+
+    /* nodes */
+    private final int[] nodeTags;
+    private final int[] nodeData;
+
+    private final Chains cfg;
+    private final Chains exp;
+
+    /* contexts */
+    private final int[] contextCfg;
+    private final int[] contextExp;
+
+    ContextTable(CtxtXml.CContexts xml, SymbolTable symbols) {
+        this.symbols = symbols;
+
+        int maxNode = 0;
+        for (final IndexedTableNode node : xml.nodes) {
+            maxNode = Math.max(maxNode, node.index);
+        }
+        nodeTags = new int[maxNode + 1];
+        nodeData = new int[maxNode + 1];
+        Arrays.fill(nodeTags, -1);
+        Arrays.fill(nodeData, -1);
+        for (final IndexedTableNode node : xml.nodes) {
+            nodeTags[node.index] = symbols.intern(node.tags);
+            final Integer[] args = node.getArguments();
+            if (args.length > 0) {
+                nodeData[node.index] = args[0];
+            }
+        }
+
+        cfg = new Chains(xml.cfgContexts);
+        exp = new Chains(xml.expContexts);
+
+        int maxContext = 0;
+        for (final IndexedTableNode node : xml.contexts) {
+            maxContext = Math.max(maxContext, node.index);
+        }
+        contextCfg = new int[maxContext + 1];
+        contextExp = new int[maxContext + 1];
+        Arrays.fill(contextCfg, -1);
+        for (final IndexedTableNode node : xml.contexts) {
+            final Integer[] args = node.getArguments();
+            contextCfg[node.index] = args[0];
+            contextExp[node.index] = args[1];
+        }
+    }
+
+    /**
+     * @return number of context node kinds
+     */
+    public int getNodeCount() {
+        return nodeTags.length - 1;
+    }
+
+    public boolean contains(int contextId) {
+        return contextId >= 0 && contextId < contextCfg.length && contextCfg[contextId] >= 0;
+    }
+
+    /**
+     * @return tag of a node, e.g. <code>stmt</code> or
+     *         <code>field-offset,buf</code>
+     */
+    public String getNodeTag(int node) {
+        return symbols.get(nodeTags[node]);
+    }
+
+    /**
+     * @return statement id, instruction or argument number of a node; -1 if
+     *         the node has none
+     */
+    public int getNodeData(int node) {
+        return nodeData[node];
+    }
+
+    /**
+     * @return nodes of the cfg part of the context, outermost first
+     */
+    public int[] getCfgPath(int contextId) {
+        return cfg.path(contextCfg[require(contextId)]);
+    }
+
+    /**
+     * @return nodes of the expression part of the context, outermost first
+     */
+    public int[] getExpPath(int contextId) {
+        return exp.path(contextExp[require(contextId)]);
+    }
+
+    /**
+     * @return e.g. <code>stmt:6/if-then/stmt:7/instr:0 | lhs/mem</code>
+     */
+    public String describe(int contextId) {
+        final StringBuilder sb = new StringBuilder();
+        append(sb, getCfgPath(contextId));
+        sb.append(" | ");
+        append(sb, getExpPath(contextId));
+        return sb.toString();
+    }
+
+    private void append(StringBuilder sb, int[] path) {
+        for (int i = 0; i < path.length; i++) {
+            if (i > 0) {
+                sb.append('/');
+            }
+            sb.append(getNodeTag(path[i]));
+            if (nodeData[path[i]] >= 0) {
+                sb.append(':').append(nodeData[path[i]]);
+            }
+        }
+    }
+
+    private int require(int contextId) {
+        if (!contains(contextId)) {
+            throw new MissingKeyException("No context in map for the key " + contextId);
+        }
+        return contextId;
+    }
+
+}
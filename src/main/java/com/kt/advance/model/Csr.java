@@ -0,0 +1,215 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Adjacency of a graph over nodes 0..n-1 in compressed sparse row form: the
+ * targets of node i are targets[offsets[i] .. offsets[i+1]).
+ *
+ * @author artem
+ *
+ */
+final class Csr {
+
+    final int[] offsets;
+    final int[] targets;
+
+    Csr(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    static Csr empty(int size) {
+        return new Csr(new int[size + 1], new int[0]);
+    }
+
+    static Csr fromRows(int[][] rows) {
+        final int[] offsets = new int[rows.length + 1];
+        for (int i = 0; i < rows.length; i++) {
+            offsets[i + 1] = offsets[i] + rows[i].length;
+        }
+        final int[] targets = new int[offsets[rows.length]];
+        for (int i = 0; i < rows.length; i++) {
+            System.arraycopy(rows[i], 0, targets, offsets[i], rows[i].length);
+        }
+        return new Csr(offsets, targets);
+    }
+
+    /**
+     * @param sources
+     *            source of each edge, targets[i] is its target
+     */
+    static Csr fromEdges(int size, int[] sources, int[] targets, int edgeCount) {
+        final int[] offsets = new int[size + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        final int[] sorted = new int[edgeCount];
+        final int[] fill = Arrays.copyOf(offsets, size);
+        for (int i = 0; i < edgeCount; i++) {
+            sorted[fill[sources[i]]++] = targets[i];
+        }
+        return new Csr(offsets, sorted);
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    int edgeCount() {
+        return targets.length;
+    }
+
+    int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    int[] row(int node) {
+        return Arrays.copyOfRange(targets, offsets[node], offsets[node + 1]);
+    }
+
+    Csr transpose() {
+        final int size = size();
+        final int[] sources = new int[targets.length];
+        for (int n = 0; n < size; n++) {
+            Arrays.fill(sources, offsets[n], offsets[n + 1], n);
+        }
+        return fromEdges(size, targets, sources, targets.length);
+    }
+
+    /**
+     * breadth-first
+     *
+     * @return nodes reachable from start, in order of discovery; start itself
+     *         only if it is on a cycle
+     */
+    int[] closure(int start) {
+        final BitSet visited = new BitSet(size());
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+
+        int n = start;
+        while (true) {
+            for (int e = offsets[n]; e < offsets[n + 1]; e++) {
+                final int t = targets[e];
+                if (!visited.get(t)) {
+                    visited.set(t);
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail * 2);
+                    }
+                    queue[tail++] = t;
+                }
+            }
+            if (head == tail) {
+                return Arrays.copyOf(queue, tail);
+            }
+            n = queue[head++];
+        }
+    }
+
+    /**
+     * iterative Tarjan
+     *
+     * @return strongly connected component of each node; components are
+     *         numbered in reverse topological order (callees first)
+     */
+    int[] stronglyConnectedComponents() {
+        final int size = size();
+        final int[] component = new int[size];
+        Arrays.fill(component, -1);
+
+        final int[] index = new int[size];
+        final int[] lowlink = new int[size];
+        Arrays.fill(index, -1);
+
+        final int[] stack = new int[size];
+        final BitSet onStack = new BitSet(size);
+        int stackTop = 0;
+
+        /* dfs frames: node and next edge */
+        final int[] frameNode = new int[size];
+        final int[] frameEdge = new int[size];
+
+        int counter = 0;
+        int components = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+
+            int depth = 0;
+            frameNode[0] = root;
+            frameEdge[0] = offsets[root];
+            index[root] = lowlink[root] = counter++;
+            stack[stackTop++] = root;
+            onStack.set(root);
+
+            while (depth >= 0) {
+                final int v = frameNode[depth];
+                if (frameEdge[depth] < offsets[v + 1]) {
+                    final int w = targets[frameEdge[depth]++];
+                    if (index[w] < 0) {
+                        index[w] = lowlink[w] = counter++;
+                        stack[stackTop++] = w;
+                        onStack.set(w);
+                        depth++;
+                        frameNode[depth] = w;
+                        frameEdge[depth] = offsets[w];
+                    }
+                    else if (onStack.get(w)) {
+                        lowlink[v] = Math.min(lowlink[v], index[w]);
+                    }
+                    continue;
+                }
+
+                if (lowlink[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackTop];
+                        onStack.clear(w);
+                        component[w] = components;
+                    } while (w != v);
+                    components++;
+                }
+
+                depth--;
+                if (depth >= 0) {
+                    final int parent = frameNode[depth];
+                    lowlink[parent] = Math.min(lowlink[parent], lowlink[v]);
+                }
+            }
+        }
+        return component;
+    }
+
+}
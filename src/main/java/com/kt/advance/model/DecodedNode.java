@@ -0,0 +1,62 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import com.kt.advance.Util;
+import com.kt.advance.xml.model.IndexedTableNode;
+
+/**
+ * A dictionary row with its tags and arguments split, once; factories,
+ * constructors and binds read the arrays instead of splitting the xml
+ * attributes again.
+ *
+ * @author artem
+ *
+ */
+public final class DecodedNode {
+
+    public final Integer   index;
+    public final String[]  tags;
+    public final Integer[] args;
+
+    public DecodedNode(IndexedTableNode node) {
+        this.index = node.index;
+        this.tags = Util.splitString(node.tags);
+        this.args = Util.splitStringIntoIntegers(node.arguments);
+    }
+
+    DecodedNode(Integer index, String[] tags, Integer[] args) {
+        this.index = index;
+        this.tags = tags;
+        this.args = args;
+    }
+
+    /**
+     * @return the first tag, null if there are no tags
+     */
+    public String getTag() {
+        return tags.length == 0 ? null : tags[0];
+    }
+
+}
@@ -0,0 +1,315 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.kt.advance.api.Assumption;
+import com.kt.advance.api.Assumption.AssumptionTypeCode;
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.PO;
+import com.kt.advance.api.PPO;
+import com.kt.advance.api.SPO;
+
+/**
+ * Application-wide delegation graph of proof obligations.
+ *
+ * A PO of function F that depends on api assumption A of F is delegated to
+ * the callers of F: there is an edge from the PO to every callsite SPO, in
+ * any function of any file, that calls F and refers to A. Those SPOs may in
+ * turn be delegated to their own callers.
+ *
+ * POs are numbered densely (file, function, PPOs, callsite SPOs, returnsite
+ * SPOs); edges are kept in compressed sparse row arrays, both ways.
+ *
+ * @author artem
+ *
+ */
+public final class DelegationGraph {
+
+    static final DelegationGraph EMPTY = new DelegationGraph(new PO[0], new CFunction[0],
+            Collections.emptyMap(), Csr.empty(0));
+
+    private final PO[]        nodes;
+    private final CFunction[] owners;
+
+    private final Map<PO, Integer> ids;
+
+    private final Csr forward;
+    private final Csr backward;
+
+    private DelegationGraph(PO[] nodes, CFunction[] owners, Map<PO, Integer> ids, Csr forward) {
+        this.nodes = nodes;
+        this.owners = owners;
+        this.ids = ids;
+        this.forward = forward;
+        this.backward = forward.transpose();
+    }
+
+    /**
+     * edges found in one callee function
+     */
+    private static class Edges {
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        int   size;
+
+        void add(int source, int target) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            size++;
+        }
+    }
+
+    static DelegationGraph build(CApplicationImpl app) {
+        final List<CFunction> functions = new ArrayList<>();
+        for (final CFile cfile : app.getCfiles()) {
+            functions.addAll(cfile.getCFunctions());
+        }
+
+        final List<PO> nodeList = new ArrayList<>();
+        final List<CFunction> ownerList = new ArrayList<>();
+        for (final CFunction f : functions) {
+            for (final PO po : f.getPPOs()) {
+                nodeList.add(po);
+                ownerList.add(f);
+            }
+            for (final CFunctionSiteSPOs site : f.getCallsites()) {
+                for (final PO po : site.getSpos()) {
+                    nodeList.add(po);
+                    ownerList.add(f);
+                }
+            }
+            for (final CFunctionSiteSPOs site : f.getReturnsites()) {
+                for (final PO po : site.getSpos()) {
+                    nodeList.add(po);
+                    ownerList.add(f);
+                }
+            }
+        }
+
+        final PO[] nodes = nodeList.toArray(new PO[nodeList.size()]);
+        final Map<PO, Integer> ids = new IdentityHashMap<>(nodes.length);
+        for (int i = 0; i < nodes.length; i++) {
+            ids.put(nodes[i], i);
+        }
+
+        /* callee -> SPOs of its callsites, in all callers */
+        final List<CFunction[]> callees = functions.parallelStream()
+                .map(caller -> caller.getCallsites().stream()
+                        .map(site -> site.getCallee() == null ? null : app.findCallee(caller, site.getCallee()))
+                        .toArray(CFunction[]::new))
+                .collect(Collectors.toList());
+
+        final Map<CFunction, List<SPO>> callerSpos = new IdentityHashMap<>();
+        for (int i = 0; i < functions.size(); i++) {
+            int site = 0;
+            for (final CFunctionSiteSPOs callsite : functions.get(i).getCallsites()) {
+                final CFunction callee = callees.get(i)[site++];
+                if (callee != null) {
+                    callerSpos.computeIfAbsent(callee, k -> new ArrayList<>()).addAll(callsite.getSpos());
+                }
+            }
+        }
+
+        final List<Edges> edges = functions.parallelStream()
+                .map(callee -> edgesOf(callee, callerSpos.getOrDefault(callee, Collections.emptyList()), ids))
+                .collect(Collectors.toList());
+
+        final Edges all = new Edges();
+        for (final Edges e : edges) {
+            for (int i = 0; i < e.size; i++) {
+                all.add(e.sources[i], e.targets[i]);
+            }
+        }
+
+        return new DelegationGraph(nodes, ownerList.toArray(new CFunction[ownerList.size()]), ids,
+                Csr.fromEdges(nodes.length, all.sources, all.targets, all.size));
+    }
+
+    private static Edges edgesOf(CFunction callee, List<SPO> callerSpos, Map<PO, Integer> ids) {
+        final Edges edges = new Edges();
+        if (callerSpos.isEmpty()) {
+            return edges;
+        }
+
+        final Map<Integer, List<SPO>> callerSposByApiId = callerSpos.stream()
+                .filter(spo -> spo.getType().getExternalId() != null)
+                .collect(Collectors.groupingBy(spo -> spo.getType().getExternalId()));
+
+        final Map<Integer, PO> ppos = new HashMap<>();
+        for (final PPO ppo : callee.getPPOs()) {
+            ppos.put(ppo.getId(), ppo);
+        }
+        final Map<Integer, PO> spos = new HashMap<>();
+        for (final CFunctionSiteSPOs site : callee.getCallsites()) {
+            site.getSpos().forEach(spo -> spos.put(spo.getId(), spo));
+        }
+        for (final CFunctionSiteSPOs site : callee.getReturnsites()) {
+            site.getSpos().forEach(spo -> spos.put(spo.getId(), spo));
+        }
+
+        for (final Assumption assumption : callee.getApiAssumptions()) {
+            if (assumption.typeCode != AssumptionTypeCode.aa) {
+                continue;
+            }
+            final List<SPO> targets = callerSposByApiId.get(assumption.index);
+            if (targets == null) {
+                continue;
+            }
+            addEdges(edges, assumption.ppos, ppos, targets, ids);
+            addEdges(edges, assumption.spos, spos, targets, ids);
+        }
+        return edges;
+    }
+
+    private static void addEdges(Edges edges, Integer[] sourceIds, Map<Integer, PO> sources, List<SPO> targets,
+            Map<PO, Integer> ids) {
+        if (sourceIds == null) {
+            return;
+        }
+        for (final Integer sourceId : sourceIds) {
+            final PO source = sources.get(sourceId);
+            if (source == null) {
+                continue;
+            }
+            final int s = ids.get(source);
+            for (final SPO target : targets) {
+                edges.add(s, ids.get(target));
+            }
+        }
+    }
+
+    /**
+     * @return number of POs
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    public int getEdgeCount() {
+        return forward.edgeCount();
+    }
+
+    /**
+     * @return node number of the PO, or -1 if it is not in the graph
+     */
+    public int getNode(PO po) {
+        final Integer id = ids.get(po);
+        return id == null ? -1 : id;
+    }
+
+    public PO getPO(int node) {
+        return nodes[node];
+    }
+
+    public CFunction getFunction(int node) {
+        return owners[node];
+    }
+
+    /**
+     * @return nodes the given node is delegated to
+     */
+    public int[] getSuccessors(int node) {
+        return forward.row(node);
+    }
+
+    /**
+     * @return nodes delegated to the given node
+     */
+    public int[] getPredecessors(int node) {
+        return backward.row(node);
+    }
+
+    /**
+     * @return callers' SPOs the PO is directly delegated to
+     */
+    public List<PO> getDelegatedTo(PO po) {
+        return toPOs(getSuccessors(requireNode(po)));
+    }
+
+    /**
+     * @return POs of callees directly delegated to this SPO
+     */
+    public List<PO> getDelegatedFrom(PO po) {
+        return toPOs(getPredecessors(requireNode(po)));
+    }
+
+    /**
+     * @return all SPOs up the call chains the PO is transitively delegated to
+     */
+    public List<PO> getTransitivelyDelegatedTo(PO po) {
+        return toPOs(forward.closure(requireNode(po)));
+    }
+
+    /**
+     * @return all POs down the call chains transitively delegated to this PO
+     */
+    public List<PO> getTransitivelyDelegatedFrom(PO po) {
+        return toPOs(backward.closure(requireNode(po)));
+    }
+
+    /**
+     * @return nodes reachable from the node (excluding the node itself, unless
+     *         it is on a cycle)
+     */
+    public BitSet getReachable(int node) {
+        final BitSet reachable = new BitSet(nodes.length);
+        for (final int n : forward.closure(node)) {
+            reachable.set(n);
+        }
+        return reachable;
+    }
+
+    private int requireNode(PO po) {
+        final int node = getNode(po);
+        if (node < 0) {
+            throw new IllegalArgumentException("PO " + po.getId() + " is not in the delegation graph");
+        }
+        return node;
+    }
+
+    private List<PO> toPOs(int[] nodeIds) {
+        final List<PO> pos = new ArrayList<>(nodeIds.length);
+        for (final int n : nodeIds) {
+            pos.add(nodes[n]);
+        }
+        return pos;
+    }
+
+}
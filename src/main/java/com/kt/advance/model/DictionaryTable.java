@@ -0,0 +1,350 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import static com.kt.advance.Util.requireValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One table of a file's _cdict.xml, kept as its rows until the first
+ * lookup; then all its entries are built and bound at once, and the rows
+ * are dropped. Rows are kept compactly, e.g. as an {@link IndexedTable}, not
+ * as the xml nodes.
+ *
+ * Binding an entry looks up entries of other tables, and of this one, which
+ * builds those in turn. All tables of a file form a {@link Group}: lookups
+ * made while materializing the group get built, possibly not yet bound,
+ * entries, as they did when the whole dictionary was bound eagerly; other
+ * lookups wait until every table built meanwhile is bound too, so they
+ * never see an unbound entry.
+ *
+ * @param <N>
+ *            xml row
+ * @param <T>
+ *            entry
+ * @author artem
+ *
+ */
+final class DictionaryTable<N, T> {
+
+    private static final BinaryOperator<Object> NO_DUPLICATES = (a, b) -> {
+        throw new IllegalStateException("Duplicate key " + a);
+    };
+
+    /**
+     * runs the builds and binds of {@link Group#materialize}. Lookups wait for
+     * it, so it is not the common pool, which those lookups may fill: its
+     * tasks never wait for a lookup.
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * the group the current thread is materializing, if any
+     */
+    private static final ThreadLocal<Group> MATERIALIZING = new ThreadLocal<>();
+
+    /**
+     * the tables of one file
+     */
+    static final class Group {
+        /**
+         * built and not yet published, in build order
+         */
+        private final ConcurrentLinkedQueue<DictionaryTable<?, ?>> unpublished = new ConcurrentLinkedQueue<>();
+
+        /**
+         * whether {@link #materialize} is running; guarded by this
+         */
+        private boolean materializing;
+
+        /**
+         * builds and binds the given tables, those not yet materialized, on
+         * {@link DictionaryTable#POOL}. A table is built as soon as the tables
+         * its rows refer to are built, and bound as soon as the tables its
+         * entries refer to are built; binding needs built entries only.
+         *
+         * The lock is not held while the pool works: lookups meanwhile wait
+         * for the pool, which no lookup can block, and then publish.
+         *
+         * @param dependencies
+         *            per table, the tables its build and bind look up
+         */
+        void materialize(Map<DictionaryTable<?, ?>, List<DictionaryTable<?, ?>>> dependencies) {
+            synchronized (this) {
+                awaitIdle();
+                materializing = true;
+            }
+            try {
+                final Map<DictionaryTable<?, ?>, CompletableFuture<Void>> built = new IdentityHashMap<>();
+                for (final DictionaryTable<?, ?> table : dependencies.keySet()) {
+                    scheduleBuild(table, dependencies, built);
+                }
+
+                final List<CompletableFuture<Void>> bound = new ArrayList<>();
+                for (final Map.Entry<DictionaryTable<?, ?>, List<DictionaryTable<?, ?>>> e : dependencies.entrySet()) {
+                    final DictionaryTable<?, ?> table = e.getKey();
+                    if (table.isMaterialized()) {
+                        continue;
+                    }
+                    final List<CompletableFuture<Void>> deps = new ArrayList<>();
+                    deps.add(built.get(table));
+                    e.getValue().forEach(d -> deps.add(built.get(d)));
+                    bound.add(CompletableFuture.allOf(deps.toArray(new CompletableFuture<?>[0]))
+                            .thenRunAsync(() -> inGroup(table::bind), POOL));
+                }
+
+                CompletableFuture.allOf(bound.toArray(new CompletableFuture<?>[0])).join();
+            } catch (final CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw ex;
+            } finally {
+                synchronized (this) {
+                    try {
+                        /* tables built while binding, outside the given ones */
+                        inGroup(this::publish);
+                    } finally {
+                        materializing = false;
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        private CompletableFuture<Void> scheduleBuild(DictionaryTable<?, ?> table,
+                Map<DictionaryTable<?, ?>, List<DictionaryTable<?, ?>>> dependencies,
+                Map<DictionaryTable<?, ?>, CompletableFuture<Void>> built) {
+            CompletableFuture<Void> future = built.get(table);
+            if (future == null) {
+                if (table.isMaterialized()) {
+                    future = CompletableFuture.completedFuture(null);
+                }
+                else {
+                    final List<CompletableFuture<Void>> deps = new ArrayList<>();
+                    for (final DictionaryTable<?, ?> d : table.buildDependencies) {
+                        deps.add(scheduleBuild(d, dependencies, built));
+                    }
+                    future = CompletableFuture.allOf(deps.toArray(new CompletableFuture<?>[0]))
+                            .thenRunAsync(() -> inGroup(table::build), POOL);
+                }
+                built.put(table, future);
+            }
+            return future;
+        }
+
+        /**
+         * the lookup path: materializes the table, and whatever it refers to,
+         * on this thread
+         */
+        private synchronized void materializeFor(DictionaryTable<?, ?> table) {
+            awaitIdle();
+            if (!table.isMaterialized()) {
+                inGroup(() -> {
+                    table.build();
+                    publish();
+                });
+            }
+        }
+
+        /**
+         * binds, on this thread, the tables built but not bound, then
+         * publishes them all; called holding the lock
+         */
+        private void publish() {
+            final List<DictionaryTable<?, ?>> done = new ArrayList<>();
+            try {
+                DictionaryTable<?, ?> table;
+                while ((table = unpublished.peek()) != null) {
+                    if (!table.bound) {
+                        table.bind();
+                    }
+                    done.add(unpublished.poll());
+                }
+            } finally {
+                done.forEach(DictionaryTable::publishEntries);
+            }
+        }
+
+        /**
+         * waits, releasing the lock, until no {@link #materialize} is running;
+         * called holding the lock
+         */
+        private void awaitIdle() {
+            boolean interrupted = false;
+            while (materializing) {
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void inGroup(Runnable action) {
+            final Group previous = MATERIALIZING.get();
+            MATERIALIZING.set(this);
+            try {
+                action.run();
+            } finally {
+                if (previous == null) {
+                    MATERIALIZING.remove();
+                }
+                else {
+                    MATERIALIZING.set(previous);
+                }
+            }
+        }
+    }
+
+    private final String                      name;
+    private final Group                       group;
+    private final Function<N, T>              factory;
+    private final Function<N, Integer>        keyOf;
+    private final Consumer<T>                 binder;
+    private final BinaryOperator<T>           merge;
+    private final List<DictionaryTable<?, ?>> buildDependencies = new ArrayList<>();
+
+    private Collection<N>            rows;
+    private volatile Map<Integer, T> built;
+    private volatile boolean         bound;
+    private volatile Map<Integer, T> entries;
+
+    /**
+     * @param name
+     *            used in the {@link com.kt.advance.api.MissingKeyException}
+     *            message
+     * @param keyOf
+     *            key of the row's entry; taken from the row, as entries may
+     *            be shared by several files
+     * @param binder
+     *            null for entries that need no binding
+     */
+    @SuppressWarnings("unchecked")
+    DictionaryTable(String name, Group group, Collection<N> rows, Function<N, T> factory, Function<N, Integer> keyOf,
+            Consumer<T> binder) {
+        this(name, group, rows, factory, keyOf, binder, (BinaryOperator<T>) NO_DUPLICATES);
+    }
+
+    DictionaryTable(String name, Group group, Collection<N> rows, Function<N, T> factory, Function<N, Integer> keyOf,
+            Consumer<T> binder, BinaryOperator<T> merge) {
+        this.name = name;
+        this.group = group;
+        this.rows = rows;
+        this.factory = factory;
+        this.keyOf = keyOf;
+        this.binder = binder;
+        this.merge = merge;
+    }
+
+    /**
+     * declares that the factory of this table looks up entries of the given
+     * one
+     */
+    DictionaryTable<N, T> builtFrom(DictionaryTable<?, ?> table) {
+        buildDependencies.add(table);
+        return this;
+    }
+
+    T get(Integer key) {
+        return requireValue(entries(), key, name);
+    }
+
+    /**
+     * @return the entry, null if there is none
+     */
+    T find(Integer key) {
+        return entries().get(key);
+    }
+
+    /**
+     * @return all entries, materializing the table
+     */
+    Collection<T> values() {
+        return entries().values();
+    }
+
+    boolean isMaterialized() {
+        return entries != null;
+    }
+
+    private Map<Integer, T> entries() {
+        final Map<Integer, T> m = entries;
+        if (m != null) {
+            return m;
+        }
+        if (MATERIALIZING.get() == group) {
+            return build();
+        }
+        group.materializeFor(this);
+        return entries;
+    }
+
+    private Map<Integer, T> build() {
+        Map<Integer, T> m = built;
+        if (m == null) {
+            synchronized (this) {
+                m = built;
+                if (m == null) {
+                    m = new HashMap<>(rows.size() * 4 / 3 + 1);
+                    for (final N row : rows) {
+                        m.merge(keyOf.apply(row), factory.apply(row), merge);
+                    }
+                    rows = null;
+                    built = m;
+                    group.unpublished.add(this);
+                }
+            }
+        }
+        return m;
+    }
+
+    private void bind() {
+        if (binder != null) {
+            built.values().forEach(binder);
+        }
+        bound = true;
+    }
+
+    private void publishEntries() {
+        entries = built;
+    }
+
+}
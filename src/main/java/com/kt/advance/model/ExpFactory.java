@@ -32,7 +32,6 @@ import com.kt.advance.Util;
 import com.kt.advance.api.CFile;
 import com.kt.advance.model.CTypeFactory.CType;
 import com.kt.advance.model.ExpFactory.CExpression;
-import com.kt.advance.xml.model.IndexedTableNode;
 
 public class ExpFactory extends AbstractFactory<CExpression> {
 
@@ -41,7 +40,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
 
         private CExpression exp1, exp2;
 
-        public BinOp(IndexedTableNode node) {
+        public BinOp(DecodedNode node) {
             super(node);
         }
 
@@ -57,7 +56,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             if (ExpFactory.OP_MAP.containsKey(binop)) {
                 return String.format(ExpFactory.OP_MAP.get(binop), exp1, exp2);
             }
@@ -72,7 +71,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
 
         private CLval lvalue;
 
-        public CExpAddrOf(IndexedTableNode node) {
+        public CExpAddrOf(DecodedNode node) {
             super(node);
         }
 
@@ -82,7 +81,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return "&" + Util.bra(lvalue);
         }
     }
@@ -91,7 +90,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
 
         private CLval lvalue;
 
-        public CExpAddrOfLabel(IndexedTableNode node) {
+        public CExpAddrOfLabel(DecodedNode node) {
             super(node);
             ;
         }
@@ -102,7 +101,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.call("addroflabel", lvalue);
         }
     }
@@ -111,7 +110,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         private CExpression exp;
         private CType       type;
 
-        public CExpCastE(IndexedTableNode node) {
+        public CExpCastE(DecodedNode node) {
             super(node);
 
         }
@@ -124,7 +123,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.call("caste", "" + type + ", " + exp);
         }
 
@@ -136,7 +135,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         private CExpression[] exps;
         private String        name;
 
-        public CExpCnApp(IndexedTableNode node) {
+        public CExpCnApp(DecodedNode node) {
             super(node);
 
         }
@@ -153,7 +152,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.call(name, StringUtils.join(exps, ", "));
         }
     }
@@ -162,7 +161,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
 
         private CLval lvalue;
 
-        public CExpLval(IndexedTableNode node) {
+        public CExpLval(DecodedNode node) {
             super(node);
 
         }
@@ -173,7 +172,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return lvalue.toString();
         }
 
@@ -182,7 +181,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
     static class CExpSizeOf extends CExpression {
         private CType ctype;
 
-        public CExpSizeOf(IndexedTableNode node) {
+        public CExpSizeOf(DecodedNode node) {
             super(node);
         }
 
@@ -192,7 +191,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.call("sizeof", "" + ctype);
         }
 
@@ -201,7 +200,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
     static class CExpSizeOfE extends CExpression {
         private CExpression exp;
 
-        public CExpSizeOfE(IndexedTableNode node) {
+        public CExpSizeOfE(DecodedNode node) {
             super(node);
         }
 
@@ -211,7 +210,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.call("sizeofe", "" + exp);
         }
 
@@ -220,7 +219,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
     static class CExpSizeOfStr extends CExpression {
         private CExpression exp;
 
-        public CExpSizeOfStr(IndexedTableNode node) {
+        public CExpSizeOfStr(DecodedNode node) {
             super(node);
         }
 
@@ -230,7 +229,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.call("sizeofstr", "" + exp);
         }
 
@@ -239,7 +238,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
     static class CExpAlignOf extends CExpression {
         private CType type;
 
-        public CExpAlignOf(IndexedTableNode node) {
+        public CExpAlignOf(DecodedNode node) {
             super(node);
         }
 
@@ -249,7 +248,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return Util.call("alignof", type);
         }
     }
@@ -260,7 +259,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         private CExpression exp;
         private String      op;
 
-        public CExpUnOp(IndexedTableNode node) {
+        public CExpUnOp(DecodedNode node) {
             super(node);
         }
 
@@ -272,7 +271,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
 
             if (ExpFactory.UN_OP_MAP.containsKey(op)) {
                 return String.format(ExpFactory.UN_OP_MAP.get(op), exp);
@@ -288,7 +287,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
 
         private CConst constant;
 
-        public Const(IndexedTableNode node) {
+        public Const(DecodedNode node) {
             super(node);
         }
 
@@ -298,16 +297,16 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return constant.toString();
         }
 
     }
 
-    static abstract class AbstractCExpression extends Indexed implements Bindable {
-        private IndexedTableNode node;
+    static abstract class AbstractCExpression extends MemoizedIndexed implements Bindable {
+        private DecodedNode node;
 
-        public AbstractCExpression(IndexedTableNode node) {
+        public AbstractCExpression(DecodedNode node) {
             super(node);
             this.node = node;
         }
@@ -315,11 +314,12 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         @Override
         public final void bind(CFileImpl cfile) {
 
-            bindImpl(node.getArguments(), node.getTagsSplit(), cfile);
+            bindImpl(node.args, node.tags, cfile);
             /**
              * removing temporal garbage
              */
             this.node = null;
+            markBound();
         }
 
         public abstract void bindImpl(Integer[] args, String[] tags, CFile cfile);
@@ -327,7 +327,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
     }
 
     public static abstract class CExpression extends AbstractCExpression {
-        public CExpression(IndexedTableNode node) {
+        public CExpression(DecodedNode node) {
             super(node);
         }
 
@@ -337,7 +337,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
 
         private String name;
 
-        public CExpBase(IndexedTableNode node) {
+        public CExpBase(DecodedNode node) {
             super(node);
         }
 
@@ -347,7 +347,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
         }
 
         @Override
-        public String toString() {
+        String render() {
             return "baseexp:" + name;
         }
 
@@ -419,8 +419,7 @@ public class ExpFactory extends AbstractFactory<CExpression> {
     }
 
     @Override
-    public CExpression build(IndexedTableNode node) {
-        return super.buildImpl(node, node.getTagsSplit()[0], new CExpBase(
-            node));
+    public CExpression build(DecodedNode node) {
+        return super.buildImpl(node, CExpBase::new);
     }
 }
@@ -0,0 +1,234 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kt.advance.api.Assumption;
+import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.PO;
+
+/**
+ * Dependencies of the POs of one function, as bitsets both ways:
+ *
+ * <pre>
+ * PO -> assumption types (deps ids) -> api assumptions (by predicate index) -> POs
+ * PO -> invariants (deps invs)
+ * </pre>
+ *
+ * An api assumption depends on the POs listed in the _api.xml and on every
+ * PO with a dependency on an assumption type of that api assumption.
+ *
+ * POs are numbered locally: PPOs, callsite SPOs, returnsite SPOs.
+ * Assumption types, api assumptions and invariants are numbered by their own
+ * ids. Returned sets are copies.
+ *
+ * @author artem
+ *
+ */
+public final class FunctionDependencies {
+
+    private final PO[]             pos;
+    private final Map<PO, Integer> ids = new IdentityHashMap<>();
+
+    private final BitSet[] typesByPO;
+    private final BitSet[] apisByPO;
+    private final BitSet[] invsByPO;
+
+    private final Map<Integer, BitSet> posByType = new HashMap<>();
+    private final Map<Integer, BitSet> posByApi  = new HashMap<>();
+    private final Map<Integer, BitSet> posByInv  = new HashMap<>();
+
+    FunctionDependencies(CFunctionImpl function) {
+        final List<PO> list = new ArrayList<>(function.getPPOs());
+        for (final CFunctionSiteSPOs site : function.getCallsites()) {
+            list.addAll(site.getSpos());
+        }
+        for (final CFunctionSiteSPOs site : function.getReturnsites()) {
+            list.addAll(site.getSpos());
+        }
+        pos = list.toArray(new PO[list.size()]);
+
+        typesByPO = new BitSet[pos.length];
+        apisByPO = new BitSet[pos.length];
+        invsByPO = new BitSet[pos.length];
+
+        final Map<Integer, Integer> ppoIds = new HashMap<>();
+        final Map<Integer, Integer> spoIds = new HashMap<>();
+        final int ppoCount = function.getPPOs().size();
+        for (int i = 0; i < pos.length; i++) {
+            ids.put(pos[i], i);
+            (i < ppoCount ? ppoIds : spoIds).put(pos[i].getId(), i);
+
+            typesByPO[i] = new BitSet();
+            apisByPO[i] = new BitSet();
+            invsByPO[i] = new BitSet();
+        }
+
+        /* listed in the _api.xml */
+        for (final Assumption assumption : function.getApiAssumptions()) {
+            link(assumption.ppos, ppoIds, assumption.index);
+            link(assumption.spos, spoIds, assumption.index);
+        }
+
+        /* from the deps of each PO */
+        for (int i = 0; i < pos.length; i++) {
+            for (final Integer typeId : pos[i].getDeps().ids) {
+                typesByPO[i].set(typeId);
+                bits(posByType, typeId).set(i);
+
+                final AssumptionType type = function.findAssumptionType(typeId);
+                if (type != null && type.apiId != null) {
+                    apisByPO[i].set(type.apiId);
+                    bits(posByApi, type.apiId).set(i);
+                }
+            }
+            final Integer[] invs = pos[i].getDeps().invs;
+            if (invs != null) {
+                for (final Integer inv : invs) {
+                    invsByPO[i].set(inv);
+                    bits(posByInv, inv).set(i);
+                }
+            }
+        }
+    }
+
+    private void link(Integer[] poIds, Map<Integer, Integer> local, int apiId) {
+        if (poIds == null) {
+            return;
+        }
+        for (final Integer poId : poIds) {
+            final Integer i = local.get(poId);
+            if (i != null) {
+                apisByPO[i].set(apiId);
+                bits(posByApi, apiId).set(i);
+            }
+        }
+    }
+
+    private static BitSet bits(Map<Integer, BitSet> map, int key) {
+        return map.computeIfAbsent(key, k -> new BitSet());
+    }
+
+    private static BitSet copy(BitSet bits) {
+        return bits == null ? new BitSet() : (BitSet) bits.clone();
+    }
+
+    /**
+     * @return number of POs
+     */
+    public int size() {
+        return pos.length;
+    }
+
+    public PO getPO(int i) {
+        return pos[i];
+    }
+
+    /**
+     * @return local number of the PO, or -1 if it is not of this function
+     */
+    public int getIndex(PO po) {
+        final Integer i = ids.get(po);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * @return ids of the assumption types the PO depends on
+     */
+    public BitSet getAssumptionTypes(PO po) {
+        return copy(typesByPO[requireIndex(po)]);
+    }
+
+    /**
+     * @return predicate indexes of the api assumptions the PO depends on
+     */
+    public BitSet getApiAssumptions(PO po) {
+        return copy(apisByPO[requireIndex(po)]);
+    }
+
+    /**
+     * @return ids of the invariants the PO depends on
+     */
+    public BitSet getInvariants(PO po) {
+        return copy(invsByPO[requireIndex(po)]);
+    }
+
+    /**
+     * @return POs that no longer hold if the assumption type is invalid
+     */
+    public BitSet getDependentsOfAssumptionType(int typeId) {
+        return copy(posByType.get(typeId));
+    }
+
+    /**
+     * @return POs that no longer hold if the api assumption is invalid
+     */
+    public BitSet getDependents(Assumption assumption) {
+        return copy(posByApi.get(assumption.index));
+    }
+
+    /**
+     * @return POs that no longer hold if the invariant is invalid
+     */
+    public BitSet getDependentsOfInvariant(int invariantId) {
+        return copy(posByInv.get(invariantId));
+    }
+
+    /**
+     * @return POs depending on any of the api assumptions the PO depends on,
+     *         the PO included
+     */
+    public BitSet getRelated(PO po) {
+        final BitSet related = new BitSet(pos.length);
+        final BitSet apis = apisByPO[requireIndex(po)];
+        for (int api = apis.nextSetBit(0); api >= 0; api = apis.nextSetBit(api + 1)) {
+            related.or(posByApi.get(api));
+        }
+        related.set(getIndex(po));
+        return related;
+    }
+
+    public List<PO> toPOs(BitSet local) {
+        final List<PO> list = new ArrayList<>(local.cardinality());
+        for (int i = local.nextSetBit(0); i >= 0; i = local.nextSetBit(i + 1)) {
+            list.add(pos[i]);
+        }
+        return list;
+    }
+
+    private int requireIndex(PO po) {
+        final int i = getIndex(po);
+        if (i < 0) {
+            throw new IllegalArgumentException("PO " + po.getId() + " is not of this function");
+        }
+        return i;
+    }
+
+}
@@ -0,0 +1,57 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.kt.advance.model.CTypeFactory.CCompInfo;
+
+/**
+ * The compinfos of an application by global key, see _gxrefs.xml: the files
+ * declaring one struct share one {@link CCompInfo}.
+ *
+ * The shared entry is made of the global key, the name and the kind only,
+ * so it does not depend on the file that asks for it first. Thread-safe.
+ *
+ * @author artem
+ *
+ */
+final class GlobalCompInfos {
+
+    private final ConcurrentHashMap<Integer, CCompInfo> byKey = new ConcurrentHashMap<>();
+
+    /**
+     * @param local
+     *            the file's own entry for the global key
+     * @return the shared entry; a new one if the file names the key
+     *         differently
+     */
+    CCompInfo get(int gckey, CCompInfo local) {
+        final CCompInfo shared = byKey.computeIfAbsent(gckey, k -> new CCompInfo(k, local.name, local.isStruct));
+        if (shared.name.equals(local.name) && shared.isStruct.equals(local.isStruct)) {
+            return shared;
+        }
+        return new CCompInfo(gckey, local.name, local.isStruct);
+    }
+}
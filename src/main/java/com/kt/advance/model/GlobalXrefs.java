@@ -0,0 +1,108 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+
+/**
+ * Application-wide view of the _gxrefs.xml files: file-local varinfo ids
+ * (vid) and compinfo keys (ckey) to global ones, and functions by global
+ * varinfo id. All lookups are array lookups.
+ *
+ * @author artem
+ *
+ */
+public final class GlobalXrefs {
+
+    static final GlobalXrefs EMPTY = new GlobalXrefs(new CFunction[0]);
+
+    private final CFunction[] functionsByGlobalVarId;
+
+    private GlobalXrefs(CFunction[] functionsByGlobalVarId) {
+        this.functionsByGlobalVarId = functionsByGlobalVarId;
+    }
+
+    static GlobalXrefs build(Collection<CFileImpl> cfiles) {
+        int maxGvid = -1;
+        for (final CFileImpl cfile : cfiles) {
+            for (final CFunctionImpl f : cfile.getCFunctions()) {
+                maxGvid = Math.max(maxGvid, cfile.getGlobalVarId(f.varInfo.vid));
+            }
+        }
+
+        final CFunction[] functions = new CFunction[maxGvid + 1];
+        for (final CFileImpl cfile : cfiles) {
+            for (final CFunctionImpl f : cfile.getCFunctions()) {
+                final int gvid = cfile.getGlobalVarId(f.varInfo.vid);
+                if (gvid >= 0) {
+                    functions[gvid] = f;
+                }
+            }
+        }
+        return new GlobalXrefs(functions);
+    }
+
+    /**
+     * @return global varinfo id, -1 if the file has none for this vid
+     */
+    public int getGlobalVarId(CFile file, int vid) {
+        return ((CFileImpl) file).getGlobalVarId(vid);
+    }
+
+    /**
+     * @return global compinfo key, -1 if the file has none for this ckey
+     */
+    public int getGlobalCompKey(CFile file, int ckey) {
+        return ((CFileImpl) file).getGlobalCompKey(ckey);
+    }
+
+    /**
+     * @return function defined with this global varinfo id, if any
+     */
+    public CFunction getFunction(int gvid) {
+        return gvid >= 0 && gvid < functionsByGlobalVarId.length ? functionsByGlobalVarId[gvid] : null;
+    }
+
+    /**
+     * @param file
+     *            the file the varinfo belongs to
+     * @return function defined, in any file, for the varinfo; null for
+     *         library functions
+     */
+    public CFunction resolve(CFile file, CVarInfo varInfo) {
+        return getFunction(getGlobalVarId(file, varInfo.vid));
+    }
+
+    /**
+     * @return number of functions with a global id
+     */
+    public int getFunctionCount() {
+        return (int) Arrays.stream(functionsByGlobalVarId).filter(f -> f != null).count();
+    }
+
+}
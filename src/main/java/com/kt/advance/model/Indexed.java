@@ -30,9 +30,13 @@ public abstract class Indexed {
     public final Integer id;
 
     public Indexed(IndexedTableNode node) {
+        this(node == null ? null : new DecodedNode(node));
+    }
+
+    public Indexed(DecodedNode node) {
         if (node != null) {
             this.id = node.index;
-            this.init(node.getArguments(), node.getTagsSplit());
+            this.init(node.args, node.tags);
         }
         else {
             this.id = -1;
@@ -0,0 +1,195 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.kt.advance.Util;
+import com.kt.advance.api.MissingKeyException;
+import com.kt.advance.xml.model.IndexedTableNode;
+
+/**
+ * One indexed table of an analysis dictionary (<code>&lt;n ix=".." t=".."
+ * a=".."/&gt;</code> nodes), stored densely: per index, the id of its tag
+ * string in the application's {@link SymbolTable} and its arguments in one
+ * int array.
+ *
+ * @author artem
+ *
+ */
+public final class IndexedTable {
+    private final String      name;
+    private final SymbolTable symbols;
+
+    /** symbol id of the tag, -1 for no tag, -2 for no entry */
+    private final int[] tags;
+    private final int[] argOffsets;
+    private final int[] args;
+
+    private final int size;
+
+    IndexedTable(String name, List<IndexedTableNode> nodes, SymbolTable symbols) {
+        this.name = name;
+        this.symbols = symbols;
+        this.size = nodes.size();
+
+        int max = 0;
+        for (final IndexedTableNode node : nodes) {
+            max = Math.max(max, node.index);
+        }
+        tags = new int[max + 1];
+        Arrays.fill(tags, -2);
+
+        final Integer[][] nodeArgs = new Integer[max + 1][];
+        int argCount = 0;
+        for (final IndexedTableNode node : nodes) {
+            tags[node.index] = symbols.intern(node.tags);
+            nodeArgs[node.index] = node.getArguments();
+            argCount += nodeArgs[node.index].length;
+        }
+
+        argOffsets = new int[max + 2];
+        args = new int[argCount];
+        for (int i = 0; i <= max; i++) {
+            final Integer[] a = nodeArgs[i];
+            final int n = a == null ? 0 : a.length;
+            for (int j = 0; j < n; j++) {
+                args[argOffsets[i] + j] = a[j];
+            }
+            argOffsets[i + 1] = argOffsets[i] + n;
+        }
+    }
+
+    /**
+     * @return xml name of the table, e.g. <code>xpr-table</code>
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int index) {
+        return index >= 0 && index < tags.length && tags[index] != -2;
+    }
+
+    /**
+     * @return the whole tag, e.g. <code>x,plus</code>; null if the entry
+     *         has none
+     */
+    public String getTag(int index) {
+        return symbols.get(tags[require(index)]);
+    }
+
+    /**
+     * @return the tag split on commas
+     */
+    public String[] getTags(int index) {
+        final String tag = getTag(index);
+        return tag == null ? new String[0] : Util.splitString(tag);
+    }
+
+    public int[] getArgs(int index) {
+        require(index);
+        return Arrays.copyOfRange(args, argOffsets[index], argOffsets[index + 1]);
+    }
+
+    public int getArgCount(int index) {
+        require(index);
+        return argOffsets[index + 1] - argOffsets[index];
+    }
+
+    public int getArg(int index, int arg) {
+        require(index);
+        if (arg < 0 || arg >= argOffsets[index + 1] - argOffsets[index]) {
+            throw new IndexOutOfBoundsException(name + "[" + index + "] has no argument " + arg);
+        }
+        return args[argOffsets[index] + arg];
+    }
+
+    /**
+     * @return the entries, in index order, decoded on iteration into the
+     *         nodes the dictionary factories take
+     */
+    Collection<DecodedNode> decoded() {
+        return new AbstractCollection<DecodedNode>() {
+            @Override
+            public Iterator<DecodedNode> iterator() {
+                return new Iterator<DecodedNode>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        int i = from;
+                        while (i < tags.length && tags[i] == -2) {
+                            i++;
+                        }
+                        return i;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < tags.length;
+                    }
+
+                    @Override
+                    public DecodedNode next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final int index = next;
+                        next = advance(index + 1);
+                        final Integer[] boxed = new Integer[argOffsets[index + 1] - argOffsets[index]];
+                        for (int j = 0; j < boxed.length; j++) {
+                            boxed[j] = args[argOffsets[index] + j];
+                        }
+                        return new DecodedNode(index, getTags(index), boxed);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int require(int index) {
+        if (!contains(index)) {
+            throw new MissingKeyException("No " + name + " entry for the key " + index);
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,184 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import com.kt.advance.xml.model.IxfXml;
+
+/**
+ * Interface dictionary of a file, from its _ixf.xml: the s-terms, pre- and
+ * postconditions and postcondition requests its function apis refer to.
+ *
+ * The xml is read on first use of the file's dictionary; each table is
+ * built the first time it is asked for.
+ *
+ * @author artem
+ *
+ */
+public final class InterfaceDictionary {
+
+    public enum TableName {
+        API_PARAMETER("api-parameter-table"),
+        S_TERM("s-term-table"),
+        PRECONDITION("precondition-table"),
+        POSTCONDITION("postcondition-table"),
+        POSTREQUEST("postrequest-table"),
+        SIDEEFFECT("sideeffect-table"),
+        LV_PROPERTY("lv-property-table"),
+        LIBRARY_VARIABLE("library-variable-table");
+
+        public final String xmlName;
+
+        TableName(String xmlName) {
+            this.xmlName = xmlName;
+        }
+    }
+
+    /**
+     * a request, made by a caller, for a postcondition of a callee
+     */
+    public static final class PostRequest {
+        public final int index;
+        /**
+         * global varinfo id of the callee
+         */
+        public final int callee;
+        /**
+         * index in the postcondition-table
+         */
+        public final int postcondition;
+
+        private final InterfaceDictionary dictionary;
+
+        PostRequest(int index, int callee, int postcondition, InterfaceDictionary dictionary) {
+            this.index = index;
+            this.callee = callee;
+            this.postcondition = postcondition;
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * @return e.g. <code>lt(return, 256)</code>
+         */
+        public String getPostconditionText() {
+            return dictionary.formatPostcondition(postcondition);
+        }
+
+        @Override
+        public String toString() {
+            return getPostconditionText() + " of gvid " + callee;
+        }
+    }
+
+    public static final InterfaceDictionary EMPTY = new InterfaceDictionary(new IxfXml.InterfaceDictionary(),
+            new SymbolTable());
+
+    private final LazyTables<TableName> tables;
+
+    InterfaceDictionary(IxfXml.InterfaceDictionary xml, SymbolTable symbols) {
+        tables = new LazyTables<>(TableName.class, name -> name.xmlName, symbols)
+                .add(TableName.API_PARAMETER, xml.apiParameters)
+                .add(TableName.S_TERM, xml.sterms)
+                .add(TableName.PRECONDITION, xml.preconditions)
+                .add(TableName.POSTCONDITION, xml.postconditions)
+                .add(TableName.POSTREQUEST, xml.postrequests)
+                .add(TableName.SIDEEFFECT, xml.sideeffects)
+                .add(TableName.LV_PROPERTY, xml.lvProperties)
+                .add(TableName.LIBRARY_VARIABLE, xml.libraryVariables);
+    }
+
+    public IndexedTable getTable(TableName name) {
+        return tables.get(name);
+    }
+
+    public PostRequest getPostRequest(int index) {
+        final IndexedTable requests = getTable(TableName.POSTREQUEST);
+        return new PostRequest(index, requests.getArg(index, 0), requests.getArg(index, 1), this);
+    }
+
+    /**
+     * @return a postcondition as <code>relation(terms)</code>, e.g.
+     *         <code>lt(return, 256)</code>
+     */
+    public String formatPostcondition(int index) {
+        return formatPredicate(getTable(TableName.POSTCONDITION), index);
+    }
+
+    /**
+     * @return a precondition as <code>relation(terms)</code>
+     */
+    public String formatPrecondition(int index) {
+        return formatPredicate(getTable(TableName.PRECONDITION), index);
+    }
+
+    /**
+     * @return an s-term: <code>return</code>, a constant, or
+     *         <code>tag(args)</code>; <code>s-term index</code> if it has no
+     *         tag
+     */
+    public String formatSterm(int index) {
+        final IndexedTable terms = getTable(TableName.S_TERM);
+        final String tag = terms.getTag(index);
+        final int[] args = terms.getArgs(index);
+        if (tag == null) {
+            return "s-term " + index;
+        }
+        switch (tag) {
+            case "rv":
+                return "return";
+            case "ic":
+                return args.length == 0 ? tag : String.valueOf(args[0]);
+            default:
+                return args.length == 0 ? tag : tag + joined(args);
+        }
+    }
+
+    /**
+     * tags are <code>px,relation</code>, the relation is <code>?</code> if
+     * there are none; arguments are s-terms
+     */
+    private String formatPredicate(IndexedTable table, int index) {
+        final String[] tags = table.getTags(index);
+        final int[] args = table.getArgs(index);
+        final StringBuilder sb = new StringBuilder(tags.length == 0 ? "?" : tags[tags.length - 1]).append('(');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(formatSterm(args[i]));
+        }
+        return sb.append(')').toString();
+    }
+
+    private static String joined(int[] args) {
+        final StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(args[i]);
+        }
+        return sb.append(')').toString();
+    }
+
+}
@@ -0,0 +1,167 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.Arrays;
+
+/**
+ * An invariant fact of a function, from its _invs.xml: a non-relational
+ * value of a variable, a parameter constraint or an unreachable location.
+ *
+ * Variable, expression and symbol arguments are indexes into the function's
+ * variable and expression tables.
+ *
+ * @author artem
+ *
+ */
+public final class Invariant {
+
+    public enum Kind {
+        /** nrv: variable and its value */
+        NON_RELATIONAL("nrv"),
+        /** pc: constraint on parameters, an expression */
+        PARAMETER_CONSTRAINT("pc"),
+        /** x: location is unreachable in a domain */
+        UNREACHABLE("x");
+
+        public final String tag;
+
+        Kind(String tag) {
+            this.tag = tag;
+        }
+
+        static Kind forTag(String tag) {
+            for (final Kind k : values()) {
+                if (k.tag.equals(tag)) {
+                    return k;
+                }
+            }
+            throw new IllegalArgumentException("unknown invariant fact type: " + tag);
+        }
+    }
+
+    /**
+     * non-relational value of a variable
+     */
+    public static final class Value {
+
+        public enum Kind {
+            /** sx: symbolic expression */
+            SYMBOLIC_EXPRESSION("sx"),
+            /** sb: symbolic lower or upper bound, see {@link Value#qualifier} */
+            SYMBOLIC_BOUND("sb"),
+            /** iv: interval, lower and upper bound (numerical indexes) */
+            INTERVAL("iv"),
+            /** bv: base and offset interval */
+            BASE_OFFSET("bv"),
+            /** rs: set of memory regions */
+            REGION_SET("rs"),
+            /** iz: set of initialized variables */
+            INITIALIZED_SET("iz"),
+            /** ps: set of policy states */
+            POLICY_STATE_SET("ps"),
+            UNKNOWN("?");
+
+            public final String tag;
+
+            Kind(String tag) {
+                this.tag = tag;
+            }
+
+            static Kind forTag(String tag) {
+                for (final Kind k : values()) {
+                    if (k.tag.equals(tag)) {
+                        return k;
+                    }
+                }
+                return UNKNOWN;
+            }
+        }
+
+        public final int    id;
+        public final Kind   kind;
+        /**
+         * second tag, e.g. LB/UB of a symbolic bound; null if there is none
+         */
+        public final String qualifier;
+
+        private final int[] args;
+
+        Value(int id, Kind kind, String qualifier, int[] args) {
+            this.id = id;
+            this.kind = kind;
+            this.qualifier = qualifier;
+            this.args = args;
+        }
+
+        public int[] getArgs() {
+            return args.clone();
+        }
+
+        @Override
+        public String toString() {
+            return kind.tag + (qualifier == null ? "" : "," + qualifier) + Arrays.toString(args);
+        }
+    }
+
+    public final int  id;
+    public final Kind kind;
+
+    /**
+     * variable of a non-relational fact, expression of a parameter constraint;
+     * -1 for unreachable
+     */
+    public final int index;
+
+    /**
+     * null unless {@link Kind#NON_RELATIONAL}
+     */
+    public final Value value;
+
+    /**
+     * null unless {@link Kind#UNREACHABLE}
+     */
+    public final String domain;
+
+    Invariant(int id, Kind kind, int index, Value value, String domain) {
+        this.id = id;
+        this.kind = kind;
+        this.index = index;
+        this.value = value;
+        this.domain = domain;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case NON_RELATIONAL:
+                return id + ": var " + index + " = " + value;
+            case PARAMETER_CONSTRAINT:
+                return id + ": constraint " + index;
+            default:
+                return id + ": unreachable (" + domain + ")";
+        }
+    }
+
+}
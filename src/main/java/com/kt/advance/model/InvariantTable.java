@@ -0,0 +1,254 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.kt.advance.Util;
+import com.kt.advance.api.MissingKeyException;
+import com.kt.advance.api.PO;
+import com.kt.advance.xml.model.IndexedTableNode;
+import com.kt.advance.xml.model.InvsXml;
+import com.kt.advance.xml.model.InvsXml.LocationInvariants;
+
+/**
+ * Invariant dictionary of one function, kept in primitive arrays indexed by
+ * the table indexes of the _invs.xml; {@link Invariant} objects are made on
+ * request.
+ *
+ * @author artem
+ *
+ */
+public final class InvariantTable {
+
+    public static final InvariantTable EMPTY = new InvariantTable();
+
+    /**
+     * distinct second tags and unreachable domains; few per function
+     */
+    private final List<String> symbols = new ArrayList<>();
+
+    /* non-relational values */
+    private final byte[] valueKinds;
+    private final int[]  valueQualifiers;
+    private final int[]  valueArgOffsets;
+    private final int[]  valueArgs;
+
+    /* facts */
+    private final byte[] factKinds;
+    private final int[]  factIndexes;
+    private final int[]  factValues;
+    private final int    factCount;
+
+    /* location invariants, by context index */
+    private final int[] contexts;
+    private final int[] contextFactOffsets;
+    private final int[] contextFacts;
+
+    private InvariantTable() {
+        valueKinds = new byte[0];
+        valueQualifiers = new int[0];
+        valueArgOffsets = new int[1];
+        valueArgs = new int[0];
+        factCount = 0;
+        factKinds = new byte[0];
+        factIndexes = new int[0];
+        factValues = new int[0];
+        contexts = new int[0];
+        contextFactOffsets = new int[1];
+        contextFacts = new int[0];
+    }
+
+    InvariantTable(InvsXml xml) {
+        final List<IndexedTableNode> values = xml.function.dictionary.nonRelationalValues;
+        final int valueCount = maxIndex(values) + 1;
+        valueKinds = new byte[valueCount];
+        valueQualifiers = new int[valueCount];
+        Arrays.fill(valueQualifiers, -1);
+
+        final int[][] args = new int[valueCount][];
+        int argCount = 0;
+        for (final IndexedTableNode node : values) {
+            final String[] tags = node.getTagsSplit();
+            valueKinds[node.index] = (byte) Invariant.Value.Kind.forTag(tags[0]).ordinal();
+            if (tags.length > 1) {
+                valueQualifiers[node.index] = symbol(tags[1]);
+            }
+            args[node.index] = toInts(node.getArguments());
+            argCount += args[node.index].length;
+        }
+        valueArgOffsets = new int[valueCount + 1];
+        valueArgs = new int[argCount];
+        for (int i = 0; i < valueCount; i++) {
+            final int[] a = args[i] == null ? new int[0] : args[i];
+            System.arraycopy(a, 0, valueArgs, valueArgOffsets[i], a.length);
+            valueArgOffsets[i + 1] = valueArgOffsets[i] + a.length;
+        }
+
+        final List<IndexedTableNode> facts = xml.function.dictionary.facts;
+        final int factTableSize = maxIndex(facts) + 1;
+        factCount = facts.size();
+        factKinds = new byte[factTableSize];
+        factIndexes = new int[factTableSize];
+        factValues = new int[factTableSize];
+        Arrays.fill(factKinds, (byte) -1);
+        for (final IndexedTableNode node : facts) {
+            final String[] tags = node.getTagsSplit();
+            final Integer[] a = node.getArguments();
+            final Invariant.Kind kind = Invariant.Kind.forTag(tags[0]);
+            factKinds[node.index] = (byte) kind.ordinal();
+            switch (kind) {
+                case NON_RELATIONAL:
+                    factIndexes[node.index] = a[0];
+                    factValues[node.index] = a[1];
+                    break;
+                case PARAMETER_CONSTRAINT:
+                    factIndexes[node.index] = a[0];
+                    factValues[node.index] = -1;
+                    break;
+                default:
+                    factIndexes[node.index] = -1;
+                    factValues[node.index] = symbol(tags.length > 1 ? tags[1] : "");
+            }
+        }
+
+        final List<LocationInvariants> locations = new ArrayList<>(xml.function.locations);
+        locations.sort((a, b) -> Integer.compare(a.contextIndex, b.contextIndex));
+        contexts = new int[locations.size()];
+        contextFactOffsets = new int[locations.size() + 1];
+        final int[][] locationFacts = new int[locations.size()][];
+        for (int i = 0; i < locations.size(); i++) {
+            contexts[i] = locations.get(i).contextIndex;
+            locationFacts[i] = toInts(Util.splitStringIntoIntegers(locations.get(i).facts));
+            contextFactOffsets[i + 1] = contextFactOffsets[i] + locationFacts[i].length;
+        }
+        contextFacts = new int[contextFactOffsets[locations.size()]];
+        for (int i = 0; i < locations.size(); i++) {
+            System.arraycopy(locationFacts[i], 0, contextFacts, contextFactOffsets[i], locationFacts[i].length);
+        }
+    }
+
+    private int symbol(String s) {
+        int i = symbols.indexOf(s);
+        if (i < 0) {
+            symbols.add(s);
+            i = symbols.size() - 1;
+        }
+        return i;
+    }
+
+    private static int maxIndex(List<IndexedTableNode> nodes) {
+        int max = 0;
+        for (final IndexedTableNode node : nodes) {
+            max = Math.max(max, node.index);
+        }
+        return max;
+    }
+
+    private static int[] toInts(Integer[] values) {
+        final int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ints[i] = values[i];
+        }
+        return ints;
+    }
+
+    /**
+     * @return number of invariant facts
+     */
+    public int size() {
+        return factCount;
+    }
+
+    public boolean contains(int factId) {
+        return factId >= 0 && factId < factKinds.length && factKinds[factId] >= 0;
+    }
+
+    /**
+     * @return invariant fact of that index of the invariant-fact-table
+     */
+    public Invariant get(int factId) {
+        if (!contains(factId)) {
+            throw new MissingKeyException("No invariant in table for the key " + factId);
+        }
+        final Invariant.Kind kind = Invariant.Kind.values()[factKinds[factId]];
+        switch (kind) {
+            case NON_RELATIONAL:
+                return new Invariant(factId, kind, factIndexes[factId], getValue(factValues[factId]), null);
+            case PARAMETER_CONSTRAINT:
+                return new Invariant(factId, kind, factIndexes[factId], null, null);
+            default:
+                return new Invariant(factId, kind, -1, null, symbols.get(factValues[factId]));
+        }
+    }
+
+    Invariant.Value getValue(int valueId) {
+        final int q = valueQualifiers[valueId];
+        return new Invariant.Value(valueId, Invariant.Value.Kind.values()[valueKinds[valueId]],
+                q < 0 ? null : symbols.get(q),
+                Arrays.copyOfRange(valueArgs, valueArgOffsets[valueId], valueArgOffsets[valueId + 1]));
+    }
+
+    /**
+     * @return the invariants the PO depends on, its deps invs
+     */
+    public List<Invariant> of(PO po) {
+        final Integer[] invs = po.getDeps().invs;
+        if (invs == null || invs.length == 0) {
+            return Collections.emptyList();
+        }
+        final List<Invariant> list = new ArrayList<>(invs.length);
+        for (final Integer inv : invs) {
+            list.add(get(inv));
+        }
+        return list;
+    }
+
+    /**
+     * @return context indexes with location invariants, sorted
+     */
+    public int[] getContexts() {
+        return contexts.clone();
+    }
+
+    /**
+     * @return invariants holding at the location of a context; empty if there
+     *         are none
+     */
+    public List<Invariant> getLocationInvariants(int contextIndex) {
+        final int i = Arrays.binarySearch(contexts, contextIndex);
+        if (i < 0) {
+            return Collections.emptyList();
+        }
+        final List<Invariant> list = new ArrayList<>(contextFactOffsets[i + 1] - contextFactOffsets[i]);
+        for (int f = contextFactOffsets[i]; f < contextFactOffsets[i + 1]; f++) {
+            list.add(get(contextFacts[f]));
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,85 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import com.kt.advance.xml.model.IndexedTableNode;
+
+/**
+ * The tables of one dictionary xml, each turned into an {@link IndexedTable}
+ * the first time it is asked for; its xml nodes are dropped then.
+ *
+ * Thread-safe.
+ *
+ * @author artem
+ *
+ */
+final class LazyTables<E extends Enum<E>> {
+
+    private final Function<E, String>               xmlNames;
+    private final SymbolTable                       symbols;
+    private final Map<E, List<IndexedTableNode>>    pending;
+    private final AtomicReferenceArray<IndexedTable> tables;
+
+    LazyTables(Class<E> names, Function<E, String> xmlNames, SymbolTable symbols) {
+        this.xmlNames = xmlNames;
+        this.symbols = symbols;
+        this.pending = new EnumMap<>(names);
+        this.tables = new AtomicReferenceArray<>(names.getEnumConstants().length);
+    }
+
+    LazyTables<E> add(E name, List<IndexedTableNode> nodes) {
+        pending.put(name, nodes);
+        return this;
+    }
+
+    IndexedTable get(E name) {
+        final IndexedTable table = tables.get(name.ordinal());
+        if (table != null) {
+            return table;
+        }
+        synchronized (pending) {
+            IndexedTable built = tables.get(name.ordinal());
+            if (built == null) {
+                final List<IndexedTableNode> nodes = pending.remove(name);
+                built = new IndexedTable(xmlNames.apply(name), nodes, symbols);
+                tables.set(name.ordinal(), built);
+            }
+            return built;
+        }
+    }
+
+    /**
+     * @return whether the table has been built yet
+     */
+    boolean isBuilt(E name) {
+        return tables.get(name.ordinal()) != null;
+    }
+
+}
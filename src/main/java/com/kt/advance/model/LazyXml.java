@@ -0,0 +1,69 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.function.Supplier;
+
+/**
+ * A table read from one XML of a file or a function the first time it is
+ * asked for. The reader goes through
+ * {@link CApplicationImpl#readXmlFile(java.io.File, Class, CApplicationImpl.UnsafeProcAction)},
+ * so errors go to the app's ErrorsBundle and leave the table empty.
+ *
+ * Thread-safe.
+ *
+ * @author artem
+ *
+ */
+final class LazyXml<T> {
+
+    private final Supplier<T> reader;
+    private volatile T        value;
+
+    LazyXml(Supplier<T> reader) {
+        this.reader = reader;
+    }
+
+    T get() {
+        T v = value;
+        if (v == null) {
+            synchronized (this) {
+                v = value;
+                if (v == null) {
+                    v = reader.get();
+                    value = v;
+                }
+            }
+        }
+        return v;
+    }
+
+    /**
+     * @return whether the XML has been read yet
+     */
+    boolean isRead() {
+        return value != null;
+    }
+
+}
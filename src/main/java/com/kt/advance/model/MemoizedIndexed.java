@@ -0,0 +1,110 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.kt.advance.xml.model.IndexedTableNode;
+
+/**
+ * Dictionary entry that renders itself once. Dictionary nodes are shared
+ * DAG-style between thousands of POs, so the rendered string is cached per
+ * entry and rendering costs O(distinct nodes).
+ *
+ * Renderings longer than {@link #MAX_RENDERED_LENGTH} are abbreviated.
+ * Nesting deeper than {@link #MAX_RENDER_DEPTH} is elided; such partial
+ * renderings are never cached.
+ *
+ * @author artem
+ *
+ */
+public abstract class MemoizedIndexed extends Indexed {
+
+    public static final int MAX_RENDERED_LENGTH = 2048;
+    public static final int MAX_RENDER_DEPTH    = 256;
+
+    static final String ELIDED = "...";
+
+    private static final int DEPTH   = 0;
+    private static final int ELISIONS = 1;
+
+    private static final ThreadLocal<int[]> RENDER_STATE = ThreadLocal.withInitial(() -> new int[2]);
+
+    private volatile String rendered;
+
+    /**
+     * set once the entry is bound to its dictionary; nothing is cached before
+     */
+    private boolean bound;
+
+    public MemoizedIndexed(IndexedTableNode node) {
+        super(node);
+    }
+
+    public MemoizedIndexed(DecodedNode node) {
+        super(node);
+    }
+
+    abstract String render();
+
+    /**
+     * @return renderings elided so far on this thread; a rendering that
+     *         changes the count is partial and must not be cached
+     */
+    static int elisions() {
+        return RENDER_STATE.get()[ELISIONS];
+    }
+
+    final void markBound() {
+        this.bound = true;
+    }
+
+    @Override
+    public String toString() {
+        String r = rendered;
+        if (r != null) {
+            return r;
+        }
+
+        final int[] state = RENDER_STATE.get();
+        if (state[DEPTH] >= MAX_RENDER_DEPTH) {
+            state[ELISIONS]++;
+            return ELIDED;
+        }
+
+        final int elisionsBefore = state[ELISIONS];
+        state[DEPTH]++;
+        try {
+            r = StringUtils.abbreviate(render(), MAX_RENDERED_LENGTH);
+        } finally {
+            state[DEPTH]--;
+        }
+
+        if (bound && state[ELISIONS] == elisionsBefore) {
+            rendered = r;
+        }
+        return r;
+    }
+
+}
@@ -0,0 +1,91 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnostic messages the analyzer attached to a PO (the &lt;d&gt; node of the
+ * _ppo.xml / _spo.xml): general messages, messages per argument and the
+ * invariants used per argument.
+ *
+ * Not part of the bulk load; read on demand by {@link com.kt.advance.api.PO#getDiagnostics()}.
+ *
+ * @author artem
+ *
+ */
+public final class PODiagnostics {
+
+    public static final PODiagnostics EMPTY = new PODiagnostics(Collections.emptyList(), Collections.emptyMap(),
+            Collections.emptyMap());
+
+    private final List<String>               messages;
+    private final Map<Integer, List<String>> argumentMessages;
+    private final Map<Integer, int[]>        invariants;
+
+    PODiagnostics(List<String> messages, Map<Integer, List<String>> argumentMessages,
+            Map<Integer, int[]> invariants) {
+        this.messages = Collections.unmodifiableList(messages);
+        this.argumentMessages = Collections.unmodifiableMap(argumentMessages);
+        this.invariants = Collections.unmodifiableMap(invariants);
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    /**
+     * @return argument index -&gt; messages about that argument
+     */
+    public Map<Integer, List<String>> getArgumentMessages() {
+        return argumentMessages;
+    }
+
+    /**
+     * @return argument index -&gt; ids of the invariants used for it
+     */
+    public Map<Integer, int[]> getInvariants() {
+        return invariants;
+    }
+
+    public boolean isEmpty() {
+        return messages.isEmpty() && argumentMessages.isEmpty() && invariants.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        messages.forEach(m -> sb.append(m).append('\n'));
+        argumentMessages.forEach((arg, msgs) -> msgs.forEach(m -> sb.append(m).append('\n')));
+        invariants.forEach((arg, invs) -> sb.append("[").append(arg).append("] invariants: ")
+                .append(Arrays.stream(invs).mapToObj(Integer::toString).collect(Collectors.joining(",")))
+                .append('\n'));
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,188 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.kt.advance.Util;
+import com.kt.advance.xml.XmlReadFailedException;
+
+/**
+ * Streams a _ppo.xml or _spo.xml and collects the &lt;d&gt; nodes of its POs,
+ * skipping everything else.
+ *
+ * <pre>
+ * &lt;ppo ippo="19"&gt;              (&lt;po ispo="5"&gt; in _spo.xml)
+ *   &lt;d&gt;
+ *     &lt;invs&gt;&lt;arg a="1" i="35,36"/&gt;&lt;/invs&gt;
+ *     &lt;msgs&gt;&lt;msg t="..."/&gt;&lt;/msgs&gt;
+ *     &lt;amsgs&gt;&lt;arg a="2"&gt;&lt;msg t="..."/&gt;&lt;/arg&gt;&lt;/amsgs&gt;
+ *   &lt;/d&gt;
+ * </pre>
+ *
+ * @author artem
+ *
+ */
+final class PODiagnosticsReader {
+
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
+
+    private final String poElement;
+    private final String idAttribute;
+
+    private final Map<Integer, PODiagnostics> read = new HashMap<>();
+
+    private Integer                    poId;
+    private boolean                    inDiagnostics;
+    private String                     section;
+    private Integer                    arg;
+    private List<String>               messages;
+    private Map<Integer, List<String>> argumentMessages;
+    private Map<Integer, int[]>        invariants;
+
+    private PODiagnosticsReader(String poElement, String idAttribute) {
+        this.poElement = poElement;
+        this.idAttribute = idAttribute;
+    }
+
+    /**
+     * @return PO id -&gt; diagnostics, for the POs that have any
+     */
+    static Map<Integer, PODiagnostics> readPpos(File file) {
+        return new PODiagnosticsReader("ppo", "ippo").read(file);
+    }
+
+    static Map<Integer, PODiagnostics> readSpos(File file) {
+        return new PODiagnosticsReader("po", "ispo").read(file);
+    }
+
+    private Map<Integer, PODiagnostics> read(File file) {
+        try (InputStream in = new FileInputStream(file)) {
+            final XMLStreamReader xml = FACTORY.createXMLStreamReader(in);
+            try {
+                while (xml.hasNext()) {
+                    switch (xml.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            start(xml);
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            end(xml.getLocalName());
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (IOException | XMLStreamException | NumberFormatException e) {
+            throw new XmlReadFailedException(file, e);
+        }
+        return read;
+    }
+
+    private void start(XMLStreamReader xml) {
+        final String name = xml.getLocalName();
+        if (!inDiagnostics) {
+            if (poElement.equals(name)) {
+                final String id = xml.getAttributeValue(null, idAttribute);
+                poId = id == null ? null : Integer.valueOf(id);
+            }
+            else if ("d".equals(name) && poId != null) {
+                inDiagnostics = true;
+                messages = new ArrayList<>();
+                argumentMessages = new LinkedHashMap<>();
+                invariants = new LinkedHashMap<>();
+            }
+            return;
+        }
+
+        switch (name) {
+            case "invs":
+            case "msgs":
+            case "amsgs":
+                section = name;
+                break;
+            case "arg":
+                arg = Integer.valueOf(xml.getAttributeValue(null, "a"));
+                if ("invs".equals(section)) {
+                    invariants.put(arg, toInts(xml.getAttributeValue(null, "i")));
+                }
+                break;
+            case "msg":
+                final String text = xml.getAttributeValue(null, "t");
+                if ("amsgs".equals(section) && arg != null) {
+                    argumentMessages.computeIfAbsent(arg, k -> new ArrayList<>()).add(text);
+                }
+                else if ("msgs".equals(section)) {
+                    messages.add(text);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void end(String name) {
+        if (inDiagnostics) {
+            if ("d".equals(name)) {
+                final PODiagnostics diagnostics = new PODiagnostics(messages, argumentMessages, invariants);
+                if (!diagnostics.isEmpty()) {
+                    read.put(poId, diagnostics);
+                }
+                inDiagnostics = false;
+                section = null;
+            }
+            else if ("arg".equals(name)) {
+                arg = null;
+            }
+        }
+        else if (poElement.equals(name)) {
+            poId = null;
+        }
+    }
+
+    private static int[] toInts(String s) {
+        final Integer[] ids = Util.splitStringIntoIntegers(s);
+        final int[] ints = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ints[i] = ids[i];
+        }
+        return ints;
+    }
+
+}
@@ -24,6 +24,7 @@
 package com.kt.advance.model;
 
 import com.google.common.base.Preconditions;
+import com.kt.advance.api.CFunction;
 import com.kt.advance.api.Definitions;
 import com.kt.advance.api.Definitions.POLevel;
 import com.kt.advance.api.Definitions.POStatus;
@@ -36,10 +37,17 @@ abstract class POImpl implements PO {
     final Integer                    id;
     private final CProofDependencies deps;
 
-    private final String explaination;
+    /**
+     * pooled in the app's {@link SymbolTable}; explanations repeat a lot
+     */
+    private final int explaination;
+
+    private final CFunctionImpl host;
 
     private final Definitions.POStatus status;
 
+    private final int timestamp;
+
     private final PoTypeRef type;
 
     public boolean isDelegated() {
@@ -49,23 +57,19 @@ abstract class POImpl implements PO {
         return false;
     }
 
-    public POImpl(Integer id, PPONode ppoNode, PoTypeRef type) {
+    public POImpl(Integer id, PPONode ppoNode, PoTypeRef type, CFunction host) {
         Preconditions.checkNotNull(type, "PO type must not be null");
         Preconditions.checkNotNull(id, "PO  must have id");
 
         this.id = id;
         this.type = type;
+        this.host = (CFunctionImpl) host;
 
         this.status = Definitions.POStatus.forString(ppoNode.status);
+        this.timestamp = this.host.getApplication().timestamps.get(ppoNode.timeStamp);
 
         final ENode explNode = ppoNode.explaination;
-
-        if (explNode != null) {
-            explaination = explNode.text;
-        }
-        else {
-            explaination = null;
-        }
+        this.explaination = this.host.getApplication().symbols.intern(explNode == null ? null : explNode.text);
 
         final Integer[] ids = ppoNode.getIds();
         final Integer[] invs = ppoNode.getInvariants();
@@ -97,9 +101,19 @@ abstract class POImpl implements PO {
         return status;
     }
 
+    @Override
+    public int getTimestamp() {
+        return timestamp;
+    }
+
     @Override
     public String getExplaination() {
-        return explaination;
+        return host.getApplication().symbols.get(explaination);
+    }
+
+    @Override
+    public PODiagnostics getDiagnostics() {
+        return host.getDiagnostics(getLevel(), id);
     }
 
     @Override
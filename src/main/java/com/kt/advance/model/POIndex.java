@@ -0,0 +1,220 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kt.advance.api.CApplication;
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.Definitions.DepsLevel;
+import com.kt.advance.api.Definitions.POLevel;
+import com.kt.advance.api.Definitions.POStatus;
+import com.kt.advance.api.Definitions.PredicateType;
+import com.kt.advance.api.PO;
+
+/**
+ * Dense numbering of all POs of an analysis, with bitmaps of the POs by
+ * status, predicate type, level, dependency level, function, file and
+ * application.
+ *
+ * POs are numbered by application, file, function, PPOs, callsite SPOs,
+ * returnsite SPOs; so the POs of a function, a file or an application are a
+ * contiguous range.
+ *
+ * Getters return copies, which callers may combine freely with
+ * {@link BitSet#and(BitSet)}, {@link BitSet#or(BitSet)} etc.
+ *
+ * @author artem
+ *
+ */
+public final class POIndex {
+
+    public static final POIndex EMPTY = build(Collections.emptyList());
+
+    private final PO[]             pos;
+    private final Map<PO, Integer> ids;
+
+    private final Map<POStatus, BitSet>      byStatus    = new EnumMap<>(POStatus.class);
+    private final Map<PredicateType, BitSet> byPredicate = new EnumMap<>(PredicateType.class);
+    private final Map<POLevel, BitSet>       byLevel     = new EnumMap<>(POLevel.class);
+    private final Map<DepsLevel, BitSet>     byDeps      = new EnumMap<>(DepsLevel.class);
+
+    /**
+     * [from, to) ranges of PO numbers
+     */
+    private final Map<Object, int[]> ranges = new IdentityHashMap<>();
+
+    private POIndex(PO[] pos) {
+        this.pos = pos;
+        this.ids = new IdentityHashMap<>(pos.length);
+    }
+
+    public static POIndex build(Collection<CApplication> apps) {
+        final List<PO> list = new ArrayList<>();
+        final List<Object[]> scopes = new ArrayList<>();
+
+        for (final CApplication app : apps) {
+            final int appStart = list.size();
+            for (final CFile cfile : app.getCfiles()) {
+                final int fileStart = list.size();
+                for (final CFunction f : cfile.getCFunctions()) {
+                    final int functionStart = list.size();
+                    list.addAll(f.getPPOs());
+                    for (final CFunctionSiteSPOs site : f.getCallsites()) {
+                        list.addAll(site.getSpos());
+                    }
+                    for (final CFunctionSiteSPOs site : f.getReturnsites()) {
+                        list.addAll(site.getSpos());
+                    }
+                    scopes.add(new Object[] { f, new int[] { functionStart, list.size() } });
+                }
+                scopes.add(new Object[] { cfile, new int[] { fileStart, list.size() } });
+            }
+            scopes.add(new Object[] { app, new int[] { appStart, list.size() } });
+        }
+
+        final POIndex index = new POIndex(list.toArray(new PO[list.size()]));
+        for (final Object[] scope : scopes) {
+            index.ranges.put(scope[0], (int[]) scope[1]);
+        }
+        index.indexAttributes();
+        return index;
+    }
+
+    private void indexAttributes() {
+        for (int i = 0; i < pos.length; i++) {
+            final PO po = pos[i];
+            ids.put(po, i);
+            set(byStatus, po.getStatus(), i);
+            set(byPredicate, po.getPredicate().type, i);
+            set(byLevel, po.getLevel(), i);
+            set(byDeps, po.getDeps().level, i);
+        }
+    }
+
+    private static <K> void set(Map<K, BitSet> bitmaps, K key, int id) {
+        if (key != null) {
+            bitmaps.computeIfAbsent(key, k -> new BitSet()).set(id);
+        }
+    }
+
+    /**
+     * @return number of POs
+     */
+    public int size() {
+        return pos.length;
+    }
+
+    public PO getPO(int id) {
+        return pos[id];
+    }
+
+    /**
+     * @return number of the PO, or -1 if it is not indexed
+     */
+    public int getId(PO po) {
+        final Integer id = ids.get(po);
+        return id == null ? -1 : id;
+    }
+
+    public BitSet getAll() {
+        final BitSet all = new BitSet(pos.length);
+        all.set(0, pos.length);
+        return all;
+    }
+
+    public BitSet get(POStatus status) {
+        return copy(byStatus, status);
+    }
+
+    public BitSet get(PredicateType type) {
+        return copy(byPredicate, type);
+    }
+
+    public BitSet get(POLevel level) {
+        return copy(byLevel, level);
+    }
+
+    public BitSet get(DepsLevel level) {
+        return copy(byDeps, level);
+    }
+
+    public BitSet get(CApplication app) {
+        return range(app);
+    }
+
+    public BitSet get(CFile cfile) {
+        return range(cfile);
+    }
+
+    public BitSet get(CFunction function) {
+        return range(function);
+    }
+
+    /**
+     * @return number of POs in all the given sets; the sets are not modified
+     */
+    public static int countAll(BitSet first, BitSet... others) {
+        if (others.length == 0) {
+            return first.cardinality();
+        }
+        final BitSet intersection = (BitSet) first.clone();
+        for (final BitSet other : others) {
+            intersection.and(other);
+        }
+        return intersection.cardinality();
+    }
+
+    public List<PO> toPOs(BitSet ids) {
+        final List<PO> list = new ArrayList<>(ids.cardinality());
+        for (int i = ids.nextSetBit(0); i >= 0; i = ids.nextSetBit(i + 1)) {
+            list.add(pos[i]);
+        }
+        return list;
+    }
+
+    private static <K> BitSet copy(Map<K, BitSet> bitmaps, K key) {
+        final BitSet bitmap = bitmaps.get(key);
+        return bitmap == null ? new BitSet() : (BitSet) bitmap.clone();
+    }
+
+    private BitSet range(Object scope) {
+        final int[] range = ranges.get(scope);
+        final BitSet bitmap = new BitSet();
+        if (range != null) {
+            bitmap.set(range[0], range[1]);
+        }
+        return bitmap;
+    }
+
+}
@@ -0,0 +1,204 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.CLocation;
+import com.kt.advance.api.PO;
+import com.kt.advance.api.PPO;
+import com.kt.advance.api.SPO;
+
+/**
+ * POs of an application by source file and line. A PPO is at its own
+ * location, an SPO at the location of its callsite or returnsite; files
+ * include headers, which have no CFile.
+ *
+ * Per file, lines are kept sorted in a primitive array; range queries are
+ * binary searches.
+ *
+ * @author artem
+ *
+ */
+public final class POLineIndex {
+
+    static final POLineIndex EMPTY = new POLineIndex(Collections.emptyMap());
+
+    private static final class FileLines {
+        final int[] lines;
+        final PO[]  pos;
+
+        FileLines(int[] lines, PO[] pos) {
+            this.lines = lines;
+            this.pos = pos;
+        }
+    }
+
+    private final Map<String, FileLines> files;
+
+    private POLineIndex(Map<String, FileLines> files) {
+        this.files = files;
+    }
+
+    /**
+     * POs of one file while building, in model order
+     */
+    private static final class Builder {
+        final List<PO> pos   = new ArrayList<>();
+        int[]          lines = new int[16];
+
+        void add(PO po, Integer line) {
+            if (pos.size() == lines.length) {
+                lines = Arrays.copyOf(lines, lines.length * 2);
+            }
+            lines[pos.size()] = line == null ? 0 : line;
+            pos.add(po);
+        }
+
+        /**
+         * sorts by line, keeping model order within a line
+         */
+        FileLines build() {
+            final int size = pos.size();
+            final long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) lines[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+
+            final int[] sortedLines = new int[size];
+            final PO[] sortedPos = new PO[size];
+            for (int i = 0; i < size; i++) {
+                sortedLines[i] = (int) (keys[i] >>> 32);
+                sortedPos[i] = pos.get((int) keys[i]);
+            }
+            return new FileLines(sortedLines, sortedPos);
+        }
+    }
+
+    static POLineIndex build(Collection<CFile> cfiles) {
+        final Map<String, Builder> builders = new HashMap<>();
+        for (final CFile cfile : cfiles) {
+            for (final CFunction f : cfile.getCFunctions()) {
+                for (final PPO ppo : f.getPPOs()) {
+                    add(builders, ppo, ppo.getLocation());
+                }
+                for (final CFunctionSiteSPOs site : f.getCallsites()) {
+                    for (final SPO spo : site.getSpos()) {
+                        add(builders, spo, site.getLocation());
+                    }
+                }
+                for (final CFunctionSiteSPOs site : f.getReturnsites()) {
+                    for (final SPO spo : site.getSpos()) {
+                        add(builders, spo, site.getLocation());
+                    }
+                }
+            }
+        }
+
+        final Map<String, FileLines> files = builders.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().build(), (a, b) -> a, TreeMap::new));
+        return new POLineIndex(files);
+    }
+
+    private static void add(Map<String, Builder> builders, PO po, CLocation location) {
+        if (location == null || location.getFilename() == null) {
+            return;
+        }
+        builders.computeIfAbsent(location.getFilename(), k -> new Builder()).add(po, location.getLine());
+    }
+
+    /**
+     * @return source files with POs, .c and headers
+     */
+    public Collection<String> getFilenames() {
+        return Collections.unmodifiableSet(files.keySet());
+    }
+
+    /**
+     * @return number of POs in the file
+     */
+    public int count(String filename) {
+        final FileLines f = files.get(filename);
+        return f == null ? 0 : f.pos.length;
+    }
+
+    /**
+     * @return number of POs on lines fromLine..toLine, inclusive
+     */
+    public int count(String filename, int fromLine, int toLine) {
+        final FileLines f = files.get(filename);
+        if (f == null || fromLine > toLine) {
+            return 0;
+        }
+        return lowerBound(f.lines, toLine + 1L) - lowerBound(f.lines, fromLine);
+    }
+
+    /**
+     * @return POs on lines fromLine..toLine, inclusive, ordered by line
+     */
+    public List<PO> getPOs(String filename, int fromLine, int toLine) {
+        final FileLines f = files.get(filename);
+        if (f == null || fromLine > toLine) {
+            return Collections.emptyList();
+        }
+        final int from = lowerBound(f.lines, fromLine);
+        final int to = lowerBound(f.lines, toLine + 1L);
+        return Collections.unmodifiableList(Arrays.asList(f.pos).subList(from, to));
+    }
+
+    public List<PO> getPOs(String filename, int line) {
+        return getPOs(filename, line, line);
+    }
+
+    /**
+     * @return first index with lines[index] >= line
+     */
+    private static int lowerBound(int[] lines, long line) {
+        int lo = 0;
+        int hi = lines.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (lines[mid] < line) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+}
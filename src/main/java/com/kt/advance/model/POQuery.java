@@ -0,0 +1,235 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.google.common.base.Preconditions;
+import com.kt.advance.api.CAnalysis;
+import com.kt.advance.api.CApplication;
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.Definitions.DepsLevel;
+import com.kt.advance.api.Definitions.POLevel;
+import com.kt.advance.api.Definitions.POStatus;
+import com.kt.advance.api.Definitions.PredicateType;
+import com.kt.advance.api.PO;
+
+/**
+ * Query over the POs of a read analysis.
+ *
+ * <pre>
+ * int open = POQuery.from(cAnalysis)
+ *         .status(POStatus.open)
+ *         .predicate(PredicateType._nt)
+ *         .level(POLevel.PRIMARY)
+ *         .count();
+ * </pre>
+ *
+ * Each call narrows the query; the values passed to one call are
+ * alternatives. Status, predicate type, level, dependency level, app, file,
+ * function, line and text filters are answered from {@link POIndex},
+ * {@link POLineIndex} and {@link POTextIndex}; only {@link #where(Predicate)} looks at the POs,
+ * in parallel.
+ *
+ * @author artem
+ *
+ */
+public final class POQuery {
+
+    private final CAnalysis analysis;
+    private final POIndex   index;
+
+    private final List<Function<POIndex, BitSet>> filters = new ArrayList<>();
+
+    private Predicate<PO> where = null;
+
+    private POQuery(CAnalysis analysis) {
+        this.analysis = analysis;
+        this.index = analysis.getPOIndex();
+    }
+
+    public static POQuery from(CAnalysis analysis) {
+        Preconditions.checkNotNull(analysis);
+        return new POQuery(analysis);
+    }
+
+    public POQuery status(POStatus... statuses) {
+        return any(statuses, index::get);
+    }
+
+    public POQuery predicate(PredicateType... types) {
+        return any(types, index::get);
+    }
+
+    public POQuery level(POLevel... levels) {
+        return any(levels, index::get);
+    }
+
+    public POQuery deps(DepsLevel... levels) {
+        return any(levels, index::get);
+    }
+
+    public POQuery app(CApplication... apps) {
+        return any(apps, index::get);
+    }
+
+    public POQuery file(CFile... cfiles) {
+        return any(cfiles, index::get);
+    }
+
+    public POQuery function(CFunction... functions) {
+        return any(functions, index::get);
+    }
+
+    /**
+     * functions of that name, in any file
+     */
+    public POQuery function(String name) {
+        filters.add(idx -> {
+            final BitSet ids = new BitSet();
+            for (final CApplication app : analysis.getApps()) {
+                for (final CFile cfile : app.getCfiles()) {
+                    final CFunction function = cfile.getCFunctions().stream()
+                            .filter(f -> name.equals(f.getName()))
+                            .findFirst().orElse(null);
+                    if (function != null) {
+                        ids.or(idx.get(function));
+                    }
+                }
+            }
+            return ids;
+        });
+        return this;
+    }
+
+    /**
+     * POs located in the source file, which may be a header; unlike
+     * {@link #file(CFile...)}, which takes the POs of the files' functions
+     */
+    public POQuery sourceFile(String filename) {
+        return lines(filename, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * POs located on lines fromLine..toLine, inclusive, of the source file
+     */
+    public POQuery lines(String filename, int fromLine, int toLine) {
+        filters.add(idx -> {
+            final BitSet ids = new BitSet();
+            for (final CApplication app : analysis.getApps()) {
+                for (final PO po : app.getLineIndex().getPOs(filename, fromLine, toLine)) {
+                    ids.set(idx.getId(po));
+                }
+            }
+            return ids;
+        });
+        return this;
+    }
+
+    /**
+     * POs with all the tokens of the text, see {@link POTextIndex#search(String)}
+     */
+    public POQuery text(String text) {
+        filters.add(idx -> analysis.getTextIndex().search(text));
+        return this;
+    }
+
+    public POQuery where(Predicate<PO> predicate) {
+        Preconditions.checkNotNull(predicate);
+        where = where == null ? predicate : where.and(predicate);
+        return this;
+    }
+
+    private <K> POQuery any(K[] keys, Function<K, BitSet> bitmap) {
+        Preconditions.checkArgument(keys.length > 0, "no values given");
+        filters.add(idx -> {
+            final BitSet ids = new BitSet();
+            for (final K key : keys) {
+                ids.or(bitmap.apply(key));
+            }
+            return ids;
+        });
+        return this;
+    }
+
+    /**
+     * @return ids of the matching POs in {@link CAnalysis#getPOIndex()}
+     */
+    public BitSet ids() {
+        final BitSet ids = index.getAll();
+        for (final Function<POIndex, BitSet> filter : filters) {
+            ids.and(filter.apply(index));
+        }
+        if (where == null) {
+            return ids;
+        }
+
+        final Predicate<PO> predicate = where;
+        final BitSet matching = new BitSet(index.size());
+        for (final int id : candidates(ids).filter(id -> predicate.test(index.getPO(id))).toArray()) {
+            matching.set(id);
+        }
+        return matching;
+    }
+
+    /**
+     * @return the matching POs as a parallel stream, in index order
+     */
+    public Stream<PO> stream() {
+        return candidates(ids()).mapToObj(index::getPO);
+    }
+
+    public int count() {
+        return ids().cardinality();
+    }
+
+    public List<PO> list() {
+        return index.toPOs(ids());
+    }
+
+    public <R> List<R> map(Function<? super PO, ? extends R> projection) {
+        return stream().map(projection).collect(Collectors.toList());
+    }
+
+    public <K> Map<K, Long> countBy(Function<? super PO, ? extends K> key) {
+        return stream().collect(Collectors.groupingByConcurrent(key, Collectors.counting()));
+    }
+
+    /**
+     * ids copied to an array, so that the stream splits evenly
+     */
+    private static IntStream candidates(BitSet ids) {
+        return IntStream.of(ids.stream().toArray()).parallel();
+    }
+
+}
@@ -0,0 +1,131 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.kt.advance.LongCounter;
+import com.kt.advance.LongCounter.Key;
+import com.kt.advance.api.CAnalysis;
+import com.kt.advance.api.CApplication;
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.Definitions.POLevel;
+import com.kt.advance.api.PO;
+
+/**
+ * PO counts of an analysis grouped by several dimensions, counted over the
+ * functions in parallel.
+ *
+ * <pre>
+ * POStatistics.count(cAnalysis, Dimension.FILE, Dimension.PREDICATE).writeCsv(out);
+ * </pre>
+ *
+ * @author artem
+ *
+ */
+public final class POStatistics {
+
+    public enum Dimension {
+        APP, FILE, FUNCTION, PREDICATE, STATUS, DEPS
+    }
+
+    /**
+     * the function a PO is counted in
+     */
+    private static final class Scope {
+        final CApplication app;
+        final CFile        cfile;
+        final CFunction    function;
+
+        Scope(CApplication app, CFile cfile, CFunction function) {
+            this.app = app;
+            this.cfile = cfile;
+            this.function = function;
+        }
+    }
+
+    private POStatistics() {
+    }
+
+    /**
+     * @return counts of PPOs and SPOs (columns {@link POLevel#key()}) per
+     *         {@link Key} of the given dimensions
+     */
+    public static LongCounter<Key> count(CAnalysis analysis, Dimension... dimensions) {
+        Preconditions.checkArgument(dimensions.length > 0, "no dimensions");
+
+        final List<Scope> scopes = new ArrayList<>();
+        for (final CApplication app : analysis.getApps()) {
+            for (final CFile cfile : app.getCfiles()) {
+                for (final CFunction function : cfile.getCFunctions()) {
+                    scopes.add(new Scope(app, cfile, function));
+                }
+            }
+        }
+
+        final LongCounter<Key> counter = new LongCounter<>(POLevel.PRIMARY.key(), POLevel.SECONDARY.key());
+        scopes.parallelStream().forEach(scope -> {
+            scope.function.getPPOs().forEach(po -> inc(counter, scope, po, dimensions));
+            for (final CFunctionSiteSPOs site : scope.function.getCallsites()) {
+                site.getSpos().forEach(po -> inc(counter, scope, po, dimensions));
+            }
+            for (final CFunctionSiteSPOs site : scope.function.getReturnsites()) {
+                site.getSpos().forEach(po -> inc(counter, scope, po, dimensions));
+            }
+        });
+        return counter;
+    }
+
+    private static void inc(LongCounter<Key> counter, Scope scope, PO po, Dimension[] dimensions) {
+        final Object[] parts = new Object[dimensions.length];
+        for (int i = 0; i < dimensions.length; i++) {
+            parts[i] = valueOf(dimensions[i], scope, po);
+        }
+        counter.inc(Key.of(parts), po.getLevel().ordinal(), 1);
+    }
+
+    private static Object valueOf(Dimension dimension, Scope scope, PO po) {
+        switch (dimension) {
+            case APP:
+                return scope.app.getSourceDir().getName();
+            case FILE:
+                return scope.cfile.getName();
+            case FUNCTION:
+                return scope.function.getName();
+            case PREDICATE:
+                return po.getPredicate().type.label;
+            case STATUS:
+                return po.getStatus().label;
+            case DEPS:
+                return po.getDeps().level.name();
+            default:
+                throw new IllegalArgumentException(dimension.name());
+        }
+    }
+
+}
@@ -0,0 +1,251 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.kt.advance.api.CApplication;
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.PO;
+
+/**
+ * Inverted index from identifier tokens to PO ids of a {@link POIndex}.
+ *
+ * A PO is indexed by the tokens of its rendered predicate, of its
+ * explanation, of the name of its function and, for callsite SPOs, of the
+ * callee name. Tokens are the identifiers and numbers of the text, lower
+ * cased; so <code>buf-&gt;len</code> is found as <code>buf</code> and
+ * <code>len</code>.
+ *
+ * Functions are tokenized in parallel and their postings appended one
+ * function at a time; the tokens are then sorted, so that prefix queries are
+ * a binary search.
+ *
+ * The index is built from the read model, not while the XMLs are read:
+ * predicates can only be rendered once the dictionaries of their file are
+ * bound, and rendering them during the read would build every dictionary
+ * table. {@link com.kt.advance.api.CAnalysis#getTextIndex()} builds it on
+ * first use.
+ *
+ * @author artem
+ *
+ */
+public final class POTextIndex {
+
+    public static final POTextIndex EMPTY = new POTextIndex(new TreeMap<>());
+
+    private static final Pattern TOKEN = Pattern.compile("[A-Za-z0-9_]+");
+
+    private final String[] tokens;
+    /**
+     * sorted PO ids, per token
+     */
+    private final int[][] postings;
+
+    private POTextIndex(TreeMap<String, int[]> sorted) {
+        this.tokens = sorted.keySet().toArray(new String[sorted.size()]);
+        this.postings = sorted.values().toArray(new int[sorted.size()][]);
+    }
+
+    /**
+     * postings of one token while building
+     */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int   size;
+
+        void add(int id) {
+            /* ids arrive in ascending order, function after function */
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    public static POTextIndex build(Collection<CApplication> apps, POIndex index) {
+        final List<CFunction> functions = new ArrayList<>();
+        final List<CFileImpl> files = new ArrayList<>();
+        for (final CApplication app : apps) {
+            for (final CFile cfile : app.getCfiles()) {
+                functions.addAll(cfile.getCFunctions());
+                files.add((CFileImpl) cfile);
+            }
+        }
+
+        /* every predicate gets rendered; bind the dictionaries up front */
+        files.parallelStream().forEach(CFileImpl::materializeDictionary);
+
+        final List<Map<String, int[]>> perFunction = functions.parallelStream()
+                .map(f -> tokenize(f, index))
+                .collect(Collectors.toList());
+
+        final Map<String, Postings> merged = new HashMap<>();
+        for (final Map<String, int[]> function : perFunction) {
+            for (final Map.Entry<String, int[]> e : function.entrySet()) {
+                final Postings p = merged.computeIfAbsent(e.getKey(), k -> new Postings());
+                for (final int id : e.getValue()) {
+                    p.add(id);
+                }
+            }
+        }
+
+        final TreeMap<String, int[]> sorted = new TreeMap<>();
+        merged.forEach((token, p) -> sorted.put(token, Arrays.copyOf(p.ids, p.size)));
+        return new POTextIndex(sorted);
+    }
+
+    /**
+     * @return sorted ids of the function's POs by token
+     */
+    private static Map<String, int[]> tokenize(CFunction function, POIndex index) {
+        final Map<String, BitSet> ids = new HashMap<>();
+        final List<String> functionTokens = tokens(function.getName());
+
+        for (final PO po : function.getPPOs()) {
+            add(ids, po, index, functionTokens, null);
+        }
+        for (final CFunctionSiteSPOs site : function.getCallsites()) {
+            final String callee = site.getCallee() == null ? null : site.getCallee().name;
+            for (final PO po : site.getSpos()) {
+                add(ids, po, index, functionTokens, callee);
+            }
+        }
+        for (final CFunctionSiteSPOs site : function.getReturnsites()) {
+            for (final PO po : site.getSpos()) {
+                add(ids, po, index, functionTokens, null);
+            }
+        }
+
+        final Map<String, int[]> result = new HashMap<>(ids.size());
+        ids.forEach((token, bits) -> result.put(token, bits.stream().toArray()));
+        return result;
+    }
+
+    private static void add(Map<String, BitSet> ids, PO po, POIndex index, List<String> functionTokens,
+            String callee) {
+        final int id = index.getId(po);
+        if (id < 0) {
+            return;
+        }
+        final List<String> poTokens = new ArrayList<>(functionTokens);
+        poTokens.addAll(tokens(po.getPredicate().express()));
+        poTokens.addAll(tokens(po.getExplaination()));
+        poTokens.addAll(tokens(callee));
+        for (final String token : poTokens) {
+            ids.computeIfAbsent(token, k -> new BitSet()).set(id);
+        }
+    }
+
+    static List<String> tokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> tokens = new ArrayList<>();
+        final Matcher m = TOKEN.matcher(text);
+        while (m.find()) {
+            tokens.add(m.group().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    /**
+     * @return number of distinct tokens
+     */
+    public int getTokenCount() {
+        return tokens.length;
+    }
+
+    /**
+     * @return ids of the POs with that token
+     */
+    public BitSet find(String token) {
+        final BitSet ids = new BitSet();
+        final int i = Arrays.binarySearch(tokens, token.toLowerCase(Locale.ROOT));
+        if (i >= 0) {
+            or(ids, postings[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * @return ids of the POs with any token starting with the prefix
+     */
+    public BitSet findPrefix(String prefix) {
+        final String p = prefix.toLowerCase(Locale.ROOT);
+        final BitSet ids = new BitSet();
+        int i = Arrays.binarySearch(tokens, p);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        for (; i < tokens.length && tokens[i].startsWith(p); i++) {
+            or(ids, postings[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * @return ids of the POs with all the tokens of the text, the last one
+     *         taken as a prefix; so <code>buf->le</code> finds
+     *         <code>buf->len</code>
+     */
+    public BitSet search(String text) {
+        final List<String> queryTokens = tokens(text);
+        if (queryTokens.isEmpty()) {
+            return new BitSet();
+        }
+        final BitSet ids = findPrefix(queryTokens.get(queryTokens.size() - 1));
+        for (final String token : queryTokens.subList(0, queryTokens.size() - 1)) {
+            if (ids.isEmpty()) {
+                break;
+            }
+            ids.and(find(token));
+        }
+        return ids;
+    }
+
+    private static void or(BitSet ids, int[] posting) {
+        for (final int id : posting) {
+            ids.set(id);
+        }
+    }
+
+}
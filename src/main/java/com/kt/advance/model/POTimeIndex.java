@@ -0,0 +1,227 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.PO;
+import com.kt.advance.api.PPO;
+
+/**
+ * POs and files of an application by timestamp (epoch seconds, see
+ * {@link Timestamps}).
+ *
+ * Per function, PO timestamps are kept sorted in a primitive array;
+ * functions are ordered by their latest PO, so a "changed since" query
+ * stops at the first function with nothing that recent. POs without a
+ * timestamp are not indexed.
+ *
+ * @author artem
+ *
+ */
+public final class POTimeIndex {
+
+    static final POTimeIndex EMPTY = new POTimeIndex(new FunctionTimes[0], new int[0], new CFile[0]);
+
+    private static final class FunctionTimes {
+        final CFunction function;
+        final int[]     times;
+        final PO[]      pos;
+
+        FunctionTimes(CFunction function, int[] times, PO[] pos) {
+            this.function = function;
+            this.times = times;
+            this.pos = pos;
+        }
+
+        int latest() {
+            return times.length == 0 ? Timestamps.NONE : times[times.length - 1];
+        }
+    }
+
+    /**
+     * latest first
+     */
+    private final FunctionTimes[]                functions;
+    private final Map<CFunction, FunctionTimes> byFunction;
+
+    /**
+     * ascending, with the files in the same order
+     */
+    private final int[]   fileTimes;
+    private final CFile[] files;
+
+    private POTimeIndex(FunctionTimes[] functions, int[] fileTimes, CFile[] files) {
+        this.functions = functions;
+        this.fileTimes = fileTimes;
+        this.files = files;
+        this.byFunction = new IdentityHashMap<>(functions.length);
+        for (final FunctionTimes f : functions) {
+            byFunction.put(f.function, f);
+        }
+    }
+
+    static POTimeIndex build(Collection<CFile> cfiles) {
+        final List<CFunction> all = new ArrayList<>();
+        for (final CFile cfile : cfiles) {
+            all.addAll(cfile.getCFunctions());
+        }
+        final FunctionTimes[] functions = all.parallelStream()
+                .map(POTimeIndex::index)
+                .sorted((a, b) -> Integer.compare(b.latest(), a.latest()))
+                .toArray(FunctionTimes[]::new);
+
+        final List<CFile> stamped = new ArrayList<>();
+        for (final CFile cfile : cfiles) {
+            if (cfile.getTimestamp() != Timestamps.NONE) {
+                stamped.add(cfile);
+            }
+        }
+        stamped.sort((a, b) -> Integer.compare(a.getTimestamp(), b.getTimestamp()));
+        final int[] fileTimes = new int[stamped.size()];
+        for (int i = 0; i < fileTimes.length; i++) {
+            fileTimes[i] = stamped.get(i).getTimestamp();
+        }
+        return new POTimeIndex(functions, fileTimes, stamped.toArray(new CFile[stamped.size()]));
+    }
+
+    private static FunctionTimes index(CFunction f) {
+        final List<PO> pos = new ArrayList<>();
+        for (final PPO ppo : f.getPPOs()) {
+            pos.add(ppo);
+        }
+        for (final CFunctionSiteSPOs site : f.getCallsites()) {
+            pos.addAll(site.getSpos());
+        }
+        for (final CFunctionSiteSPOs site : f.getReturnsites()) {
+            pos.addAll(site.getSpos());
+        }
+
+        /* timestamp in the high bits, model order in the low */
+        final long[] keys = new long[pos.size()];
+        int size = 0;
+        for (int i = 0; i < pos.size(); i++) {
+            final int time = pos.get(i).getTimestamp();
+            if (time != Timestamps.NONE) {
+                keys[size++] = ((long) time << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, size);
+
+        final int[] times = new int[size];
+        final PO[] sorted = new PO[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = (int) (keys[i] >>> 32);
+            sorted[i] = pos.get((int) keys[i]);
+        }
+        return new FunctionTimes(f, times, sorted);
+    }
+
+    /**
+     * @return POs (re)evaluated at or after the time, latest functions first
+     */
+    public List<PO> getPOsSince(int epochSecond) {
+        final List<PO> pos = new ArrayList<>();
+        for (final FunctionTimes f : functions) {
+            if (f.latest() < epochSecond) {
+                break;
+            }
+            pos.addAll(since(f, epochSecond));
+        }
+        return pos;
+    }
+
+    /**
+     * @return POs of the function (re)evaluated at or after the time, oldest
+     *         first
+     */
+    public List<PO> getPOsSince(CFunction function, int epochSecond) {
+        final FunctionTimes f = byFunction.get(function);
+        return f == null ? Collections.emptyList() : since(f, epochSecond);
+    }
+
+    /**
+     * @return latest PO timestamp of the function, {@link Timestamps#NONE} if
+     *         it has none
+     */
+    public int getLatest(CFunction function) {
+        final FunctionTimes f = byFunction.get(function);
+        return f == null ? Timestamps.NONE : f.latest();
+    }
+
+    /**
+     * @return functions with POs evaluated at or after the time
+     */
+    public List<CFunction> getFunctionsChangedSince(int epochSecond) {
+        final List<CFunction> changed = new ArrayList<>();
+        for (final FunctionTimes f : functions) {
+            if (f.latest() < epochSecond) {
+                break;
+            }
+            changed.add(f.function);
+        }
+        return changed;
+    }
+
+    /**
+     * @return files whose _cfile.xml was produced after the time, oldest first
+     */
+    public List<CFile> getFilesProducedAfter(int epochSecond) {
+        final int from = lowerBound(fileTimes, epochSecond + 1L);
+        return Collections.unmodifiableList(Arrays.asList(files).subList(from, files.length));
+    }
+
+    private static List<PO> since(FunctionTimes f, int epochSecond) {
+        final int from = lowerBound(f.times, epochSecond);
+        return Collections.unmodifiableList(Arrays.asList(f.pos).subList(from, f.pos.length));
+    }
+
+    /**
+     * @return first index with times[index] >= time
+     */
+    private static int lowerBound(int[] times, long time) {
+        int lo = 0;
+        int hi = times.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (times[mid] < time) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+}
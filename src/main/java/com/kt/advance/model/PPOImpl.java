@@ -23,12 +23,9 @@
  */
 package com.kt.advance.model;
 
-import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.kt.advance.POPrinter;
-import com.kt.advance.api.Assumption.AssumptionTypeCode;
 import com.kt.advance.api.CFunction;
 import com.kt.advance.api.CLocation;
 import com.kt.advance.api.Definitions.POLevel;
@@ -43,7 +40,7 @@ class PPOImpl extends POImpl implements PPO {
     }
 
     public PPOImpl(PPONode ppoNode, CFunction cfun) {
-        super(ppoNode.ippo, ppoNode, cfun.getPPOTypeRef(ppoNode.ippo));
+        super(ppoNode.ippo, ppoNode, cfun.getPPOTypeRef(ppoNode.ippo), cfun);
     }
 
     @Override
@@ -58,33 +55,8 @@ class PPOImpl extends POImpl implements PPO {
 
     @Override
     public Set<SPO> getAssociatedSpos(CFunction cfunIn) {
-        final Set<SPO> collected = new HashSet<>();
-
-        final CFunctionImpl cfun = (CFunctionImpl) cfunIn; // XXX: do something about this cast!!
-
-        final Set<Integer> assumptionTypeIds = this.getDeps().ids
-                .stream()
-                .map(id -> cfun.getAssumptionType(id))
-                .filter(assumptionType -> assumptionType.type == AssumptionTypeCode.aa)
-                .map(assumptionType -> assumptionType.apiId)
-                .collect(Collectors.toSet());
-
-        if (!assumptionTypeIds.isEmpty()) {
-            cfun.getCallsites() // TODO: probably missing deps from other functions
-                    .stream()
-                    .forEach(callsite -> {
-                        final Set<SPO> associatedSpos = callsite.getSpos()
-                                .stream()
-                                .filter(spo -> assumptionTypeIds.contains(spo.getType().getExternalId()))
-                                .collect(Collectors.toSet());
-
-                        collected.addAll(associatedSpos);
-
-                    });
-        }
-
-        return collected;
-
+        // TODO: probably missing deps from other functions
+        return ((CFunctionImpl) cfunIn).getAssociatedSpos(this); // XXX: do something about this cast!!
     }
 
 }
@@ -23,13 +23,14 @@
  */
 package com.kt.advance.model;
 
+import org.apache.commons.lang.StringUtils;
+
 import com.google.common.base.Preconditions;
 import com.kt.advance.Util;
 import com.kt.advance.api.Definitions;
 import com.kt.advance.model.CTypeFactory.CType;
 import com.kt.advance.model.ExpFactory.CExpression;
 import com.kt.advance.model.PredicatesFactory.CPOPredicate;
-import com.kt.advance.xml.model.IndexedTableNode;
 
 public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
 
@@ -38,14 +39,21 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         public final Definitions.PredicateType type;
         private Integer[]                      args;
         private String[]                       tags;
+        private volatile boolean               bound;
+        private volatile String                expressed;
+
+        /**
+         * file to bind against on first use, see {@link #bindLater(CFileImpl)}
+         */
+        private CFileImpl unboundIn;
 
-        public CPOPredicate(IndexedTableNode node) {
+        public CPOPredicate(DecodedNode node) {
             super(node);
 
-            args = node.getArguments();
-            tags = node.getTagsSplit();
+            args = node.args;
+            tags = node.tags;
 
-            type = Definitions.PredicateType.valueOf("_" + tags[0]);
+            type = Definitions.PredicateType.forTag(tags[0]);
 
         }
 
@@ -54,11 +62,48 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
             this.bindImpl(cfile, tags, args);
             tags = null;
             args = null;
+            bound = true;
         }
 
         public abstract void bindImpl(CFileImpl cfile, String[] tags, Integer[] args);
 
-        public abstract String express();
+        /**
+         * defers {@link #bind(CFileImpl)} to the first rendering, so that the
+         * expressions of the file are not built for POs nobody renders
+         */
+        void bindLater(CFileImpl cfile) {
+            this.unboundIn = cfile;
+        }
+
+        private void ensureBound() {
+            if (bound) {
+                return;
+            }
+            synchronized (this) {
+                if (!bound && unboundIn != null) {
+                    bind(unboundIn);
+                    unboundIn = null;
+                }
+            }
+        }
+
+        /**
+         * memoized, see {@link MemoizedIndexed}; partial renderings are not
+         */
+        public final String express() {
+            String e = expressed;
+            if (e == null) {
+                ensureBound();
+                final int elisionsBefore = MemoizedIndexed.elisions();
+                e = StringUtils.abbreviate(expressImpl(), MemoizedIndexed.MAX_RENDERED_LENGTH);
+                if (bound && MemoizedIndexed.elisions() == elisionsBefore) {
+                    expressed = e;
+                }
+            }
+            return e;
+        }
+
+        abstract String expressImpl();
 
         @Override
         public final String toString() {
@@ -72,7 +117,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         private CExpression exp2;
         private CType       typ;
 
-        public _CPOBinOp(IndexedTableNode node) {
+        public _CPOBinOp(DecodedNode node) {
             super(node);
         }
 
@@ -88,7 +133,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
             if (binop == null) {
                 return ERR_VALUE;
             }
@@ -102,7 +147,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         private CExpression exp;
         private CType       fromType, targetType;
 
-        public _CPOCast(IndexedTableNode node) {
+        public _CPOCast(DecodedNode node) {
             super(node);
         }
 
@@ -114,7 +159,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public final String express() {
+        final String expressImpl() {
             return this.exp + ",from:"
                     + fromType
                     + ",to:" + targetType;
@@ -126,7 +171,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         private CExpression exp1;
         private CExpression exp2;
 
-        public _CPOTwoExpressions(IndexedTableNode node) {
+        public _CPOTwoExpressions(DecodedNode node) {
             super(node);
         }
 
@@ -138,7 +183,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
             return exp1 + ", " + exp2;
         }
     }
@@ -148,7 +193,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
 
         private CExpression exp;
 
-        public _CPOTypeAndExp(IndexedTableNode node) {
+        public _CPOTypeAndExp(DecodedNode node) {
             super(node);
         }
 
@@ -160,7 +205,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
 
             return type + ", " + exp;
 
@@ -171,7 +216,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
     static class CPOExp0 extends CPOPredicate {
         protected CExpression exp;
 
-        public CPOExp0(IndexedTableNode node) {
+        public CPOExp0(DecodedNode node) {
             super(node);
         }
 
@@ -181,14 +226,14 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
             return "predicate:" + exp;
         }
     }
 
     static class CPOPreservedAllMemory extends CPOPredicate {
 
-        public CPOPreservedAllMemory(IndexedTableNode node) {
+        public CPOPreservedAllMemory(DecodedNode node) {
             super(node);
         }
 
@@ -198,7 +243,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
             return "-";
         }
     }
@@ -207,7 +252,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
 
         private CLval lvalue;
 
-        public CPOInitialized(IndexedTableNode node) {
+        public CPOInitialized(DecodedNode node) {
             super(node);
         }
 
@@ -217,7 +262,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
             if (lvalue == null) {
                 return ERR_VALUE;
             }
@@ -229,7 +274,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         private CExpression exp;
         private CExpression len;
 
-        public CPOInitializedRange(IndexedTableNode node) {
+        public CPOInitializedRange(DecodedNode node) {
             super(node);
         }
 
@@ -240,7 +285,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
             if (exp == null || len == null) {
                 return ERR_VALUE;
             }
@@ -255,7 +300,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
 
         private String kind, binop;
 
-        public CPOIntOverflow(IndexedTableNode node) {
+        public CPOIntOverflow(DecodedNode node) {
             super(node);
         }
 
@@ -269,7 +314,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
 
             if (binop == null) {
                 return ERR_VALUE;
@@ -285,33 +330,33 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
     }
 
     static class CPOIntUnderflow extends CPOIntOverflow {
-        public CPOIntUnderflow(IndexedTableNode node) {
+        public CPOIntUnderflow(DecodedNode node) {
             super(node);
         }
     }
 
     static class CPOPtrLowerBound extends _CPOBinOp {
-        public CPOPtrLowerBound(IndexedTableNode node) {
+        public CPOPtrLowerBound(DecodedNode node) {
             super(node);
         }
 
     }
 
     static class CPOPtrUpperBound extends _CPOBinOp {
-        public CPOPtrUpperBound(IndexedTableNode node) {
+        public CPOPtrUpperBound(DecodedNode node) {
             super(node);
         }
     }
 
     static class CPOPtrUpperBoundDeref extends _CPOBinOp {
-        public CPOPtrUpperBoundDeref(IndexedTableNode node) {
+        public CPOPtrUpperBoundDeref(DecodedNode node) {
             super(node);
         }
     }
 
     static class CPOSignedToUnsignedCast extends CPOUnsignedToSignedCast {
 
-        public CPOSignedToUnsignedCast(IndexedTableNode node) {
+        public CPOSignedToUnsignedCast(DecodedNode node) {
             super(node);
         }
 
@@ -319,12 +364,12 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
 
     static class CPOSimpleExpression extends CPOExp0 {
 
-        public CPOSimpleExpression(IndexedTableNode node) {
+        public CPOSimpleExpression(DecodedNode node) {
             super(node);
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
             if (exp == null) {
                 return ERR_VALUE;
             }
@@ -337,7 +382,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         private CExpression exp;
         private String      fromKind, targetKind;
 
-        public CPOUnsignedToSignedCast(IndexedTableNode node) {
+        public CPOUnsignedToSignedCast(DecodedNode node) {
             super(node);
         }
 
@@ -349,7 +394,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
 
             if (exp == null) {
                 return ERR_VALUE;
@@ -363,7 +408,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
 
     static class CPOValueConstraint extends CPOSimpleExpression {
 
-        public CPOValueConstraint(IndexedTableNode node) {
+        public CPOValueConstraint(DecodedNode node) {
             super(node);
         }
 
@@ -373,7 +418,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         private CExpression exp;
         private String      kind;
 
-        public CPOWidthOverflow(IndexedTableNode node) {
+        public CPOWidthOverflow(DecodedNode node) {
             super(node);
         }
 
@@ -385,7 +430,7 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
         }
 
         @Override
-        public String express() {
+        String expressImpl() {
             return exp + ", kind:" + kind;
         }
     }
@@ -456,8 +501,8 @@ public class PredicatesFactory extends AbstractFactory<CPOPredicate> {
     }
 
     @Override
-    public CPOPredicate build(IndexedTableNode node) {
-        return super.buildImpl(node, node.getTagsSplit()[0], null);
+    public CPOPredicate build(DecodedNode node) {
+        return super.buildImpl(node, null);
 
     }
 
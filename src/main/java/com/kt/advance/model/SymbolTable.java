@@ -0,0 +1,85 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Strings interned to dense int ids, shared by the functions of an
+ * application: tags and symbol names repeat across all _vars.xml files.
+ *
+ * Thread-safe; ids are stable once assigned.
+ *
+ * @author artem
+ *
+ */
+public final class SymbolTable {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * written under the lock before the id is published in {@link #ids}, so
+     * whoever holds an id sees its string without locking
+     */
+    private volatile String[] strings = new String[256];
+    private int               size    = 0;
+
+    /**
+     * @return id of the string, -1 for null
+     */
+    public int intern(String s) {
+        if (s == null) {
+            return -1;
+        }
+        final Integer id = ids.get(s);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            final Integer existing = ids.get(s);
+            if (existing != null) {
+                return existing;
+            }
+            if (size == strings.length) {
+                strings = Arrays.copyOf(strings, size * 2);
+            }
+            strings[size] = s;
+            ids.put(s, size);
+            return size++;
+        }
+    }
+
+    /**
+     * @return the string of the id, null for -1
+     */
+    public String get(int id) {
+        return id < 0 ? null : strings[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,99 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timestamps of the analyzer XMLs as epoch seconds.
+ *
+ * The XMLs carry local times without a zone, in two formats: PO
+ * <code>ts</code> and header <code>time</code> attributes use
+ * <code>2018-05-02 13:13:30</code>, <code>&lt;created time&gt;</code> uses
+ * <code>04/25/2018 22:51:44</code>. Both are read as UTC, so values compare
+ * with each other but are not instants.
+ *
+ * An application's XMLs share a handful of distinct strings; the
+ * application's instance parses each once.
+ *
+ * @author artem
+ *
+ */
+public final class Timestamps {
+
+    /**
+     * no timestamp, or one that could not be parsed
+     */
+    public static final int NONE = 0;
+
+    private static final DateTimeFormatter ISO     = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter CREATED = DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss");
+
+    private final ConcurrentHashMap<String, Integer> parsed = new ConcurrentHashMap<>();
+
+    Timestamps() {
+    }
+
+    /**
+     * @return epoch seconds, {@link #NONE} for null or unknown formats; each
+     *         distinct string is parsed once
+     */
+    int get(String time) {
+        if (time == null) {
+            return NONE;
+        }
+        return parsed.computeIfAbsent(time, Timestamps::parse);
+    }
+
+    /**
+     * @return epoch seconds, {@link #NONE} for null or unknown formats
+     */
+    public static int parse(String time) {
+        if (time == null) {
+            return NONE;
+        }
+        final DateTimeFormatter format = time.indexOf('/') >= 0 ? CREATED : ISO;
+        try {
+            return (int) LocalDateTime.parse(time.trim(), format).toEpochSecond(ZoneOffset.UTC);
+        } catch (final DateTimeParseException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * @return the timestamp in the PO <code>ts</code> format, null for
+     *         {@link #NONE}
+     */
+    public static String format(int epochSecond) {
+        if (epochSecond == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).format(ISO);
+    }
+
+}
@@ -0,0 +1,157 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.model;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kt.advance.xml.model.IndexedTableNode;
+import com.kt.advance.xml.model.VarsXml;
+import com.kt.advance.xml.model.VarsXml.MemoryReference;
+import com.kt.advance.xml.model.VarsXml.MemoryRegion;
+
+/**
+ * Variable dictionary of one function, from its _vars.xml: memory bases and
+ * references, variable denotations and the expression dictionary the
+ * invariants refer to.
+ *
+ * Tables are kept as {@link IndexedTable}s.
+ *
+ * @author artem
+ *
+ */
+public final class VarDictionary {
+
+    public enum TableName {
+        ALLOCATED_REGION_DATA("allocated-region-data-table"),
+        MEMORY_BASE("memory-base-table"),
+        MEMORY_REFERENCE_DATA("memory-reference-data-table"),
+        CONSTANT_VALUE_VARIABLE("constant-value-variable-table"),
+        C_VARIABLE_DENOTATION("c-variable-denotation-table"),
+        NUMERICAL("numerical-table"),
+        SYMBOL("symbol-table"),
+        VARIABLE("variable-table"),
+        XCST("xcst-table"),
+        XPR("xpr-table"),
+        XPR_LIST("xpr-list-table"),
+        XPR_LIST_LIST("xpr-list-list-table");
+
+        public final String xmlName;
+
+        TableName(String xmlName) {
+            this.xmlName = xmlName;
+        }
+    }
+
+    public static final VarDictionary EMPTY = new VarDictionary(new SymbolTable());
+
+    private final Map<TableName, IndexedTable> tables = new EnumMap<>(TableName.class);
+
+    /** memory base of each memory region, by region index */
+    private final int[] memoryRegions;
+    /** memory reference data of each memory reference, by reference index */
+    private final int[] memoryReferences;
+
+    private VarDictionary(SymbolTable symbols) {
+        this(new VarsXml.VarDictionary(), new int[0], new int[0], symbols);
+    }
+
+    private VarDictionary(VarsXml.VarDictionary dict, int[] memoryRegions, int[] memoryReferences,
+            SymbolTable symbols) {
+        add(TableName.ALLOCATED_REGION_DATA, dict.allocatedRegionData, symbols);
+        add(TableName.MEMORY_BASE, dict.memoryBases, symbols);
+        add(TableName.MEMORY_REFERENCE_DATA, dict.memoryReferenceData, symbols);
+        add(TableName.CONSTANT_VALUE_VARIABLE, dict.constantValueVariables, symbols);
+        add(TableName.C_VARIABLE_DENOTATION, dict.variableDenotations, symbols);
+        add(TableName.NUMERICAL, dict.xprDictionary.numericals, symbols);
+        add(TableName.SYMBOL, dict.xprDictionary.symbols, symbols);
+        add(TableName.VARIABLE, dict.xprDictionary.variables, symbols);
+        add(TableName.XCST, dict.xprDictionary.constants, symbols);
+        add(TableName.XPR, dict.xprDictionary.expressions, symbols);
+        add(TableName.XPR_LIST, dict.xprDictionary.expressionLists, symbols);
+        add(TableName.XPR_LIST_LIST, dict.xprDictionary.expressionListLists, symbols);
+
+        this.memoryRegions = memoryRegions;
+        this.memoryReferences = memoryReferences;
+    }
+
+    VarDictionary(VarsXml xml, SymbolTable symbols) {
+        this(xml.function.dictionary,
+             regions(xml.function.memoryRegions),
+             references(xml.function.memoryReferences),
+             symbols);
+    }
+
+    private void add(TableName name, List<IndexedTableNode> nodes, SymbolTable symbols) {
+        tables.put(name, new IndexedTable(name.xmlName, nodes, symbols));
+    }
+
+    private static int[] regions(List<MemoryRegion> regions) {
+        final int[] bases = new int[regions.stream().mapToInt(r -> r.index).max().orElse(0) + 1];
+        regions.forEach(r -> bases[r.index] = r.memoryBase);
+        return bases;
+    }
+
+    private static int[] references(List<MemoryReference> references) {
+        final int[] data = new int[references.stream().mapToInt(r -> r.index).max().orElse(0) + 1];
+        references.forEach(r -> data[r.index] = r.referenceData);
+        return data;
+    }
+
+    public IndexedTable getTable(TableName name) {
+        return tables.get(name);
+    }
+
+    /**
+     * @return name of a symbol of the symbol-table
+     */
+    public String getSymbolName(int index) {
+        return getTable(TableName.SYMBOL).getTag(index);
+    }
+
+    /**
+     * @return value of an entry of the numerical-table, as written
+     */
+    public String getNumerical(int index) {
+        return getTable(TableName.NUMERICAL).getTag(index);
+    }
+
+    /**
+     * @return memory-base-table index of a memory region, 0 if there is none
+     */
+    public int getMemoryBase(int regionIndex) {
+        return regionIndex >= 0 && regionIndex < memoryRegions.length ? memoryRegions[regionIndex] : 0;
+    }
+
+    /**
+     * @return memory-reference-data-table index of a memory reference, 0 if
+     *         there is none
+     */
+    public int getMemoryReferenceData(int referenceIndex) {
+        return referenceIndex >= 0 && referenceIndex < memoryReferences.length ? memoryReferences[referenceIndex]
+                : 0;
+    }
+
+}
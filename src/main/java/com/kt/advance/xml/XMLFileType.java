@@ -1,8 +1,8 @@
 package com.kt.advance.xml;
 
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -24,7 +24,7 @@ public class XMLFileType<T> {
     /**
      * lazy JAXBContext & Unmarshaller cache
      */
-    public static final Map<Class<?>, XMLFileType<?>> xmlTypes = new HashMap<>();
+    public static final Map<Class<?>, XMLFileType<?>> xmlTypes = new ConcurrentHashMap<>();
     static final Logger                               LOG      = LoggerFactory.getLogger(XMLFileType.class.getName());
     final JAXBContext                                 ppoJaxbContext;
 
@@ -38,14 +38,12 @@ public class XMLFileType<T> {
         }
     }
 
+    /**
+     * thread-safe: per-function XMLs may be read lazily from any thread
+     */
+    @SuppressWarnings("unchecked")
     public static <X, T> XMLFileType<X> getReader(Class<X> clazz) {
-        XMLFileType xmlType = XMLFileType.xmlTypes.get(clazz);
-        if (xmlType == null) {
-            xmlType = new XMLFileType<X>(
-                clazz);
-            XMLFileType.xmlTypes.put(clazz, xmlType);
-        }
-        return xmlType;
+        return (XMLFileType<X>) XMLFileType.xmlTypes.computeIfAbsent(clazz, XMLFileType::new);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,62 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.xml.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * global assignment dictionary of a file, the _cgl.xml
+ */
+@XmlRootElement(name = "c-analysis")
+public class CglXml extends FileLevelAnalysisXml {
+
+    public static class AssignmentDictionary {
+        @XmlElementWrapper(name = "function-name-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> functionNames = new ArrayList<>();
+
+        @XmlElementWrapper(name = "assignment-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> assignments = new ArrayList<>();
+
+        @XmlElementWrapper(name = "global-value-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> globalValues = new ArrayList<>();
+    }
+
+    @XmlElement(name = "assignment-dictionary", required = true)
+    public AssignmentDictionary dictionary;
+
+    @Override
+    public File getOriginAnalysisDir() {
+        return getOrigin().getParentFile();
+    }
+
+}
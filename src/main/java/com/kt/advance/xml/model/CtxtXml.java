@@ -0,0 +1,78 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.xml.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * program contexts of a file, the _ctxt.xml
+ *
+ * @author artem
+ *
+ */
+@XmlRootElement(name = "c-analysis")
+public class CtxtXml extends FileLevelAnalysisXml {
+
+    public static class CContexts {
+        @XmlElementWrapper(name = "nodes")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> nodes = new ArrayList<>();
+
+        /**
+         * node indexes, innermost first
+         */
+        @XmlElementWrapper(name = "cfg-contexts")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> cfgContexts = new ArrayList<>();
+
+        /**
+         * node indexes, innermost first
+         */
+        @XmlElementWrapper(name = "exp-contexts")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> expContexts = new ArrayList<>();
+
+        /**
+         * cfg context, exp context
+         */
+        @XmlElementWrapper(name = "contexts")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> contexts = new ArrayList<>();
+    }
+
+    @XmlElement(name = "c-contexts", required = true)
+    public CContexts contexts;
+
+    @Override
+    public File getOriginAnalysisDir() {
+        return getOrigin().getParentFile();
+    }
+
+}
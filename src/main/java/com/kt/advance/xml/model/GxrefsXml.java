@@ -0,0 +1,66 @@
+package com.kt.advance.xml.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.kt.advance.api.FsAbstraction;
+
+/**
+ * file-local to global ids of varinfos and compinfos
+ */
+@XmlRootElement(name = "c-analysis")
+public class GxrefsXml extends FileLevelAnalysisXml {
+
+    public static class GlobalXrefs {
+        @XmlElementWrapper(name = "compinfo-xrefs")
+        @XmlElement(name = "cxref")
+        public List<CompinfoXref> compinfoXrefs = new ArrayList<>();
+
+        @XmlElementWrapper(name = "varinfo-xrefs")
+        @XmlElement(name = "vxref")
+        public List<VarinfoXref> varinfoXrefs = new ArrayList<>();
+    }
+
+    public static class CompinfoXref {
+        @XmlAttribute(name = "ckey")
+        public int ckey;
+
+        @XmlAttribute(name = "gckey")
+        public int gckey;
+    }
+
+    public static class VarinfoXref {
+        @XmlAttribute(name = "vid")
+        public int vid;
+
+        @XmlAttribute(name = "gvid")
+        public int gvid;
+    }
+
+    @XmlElement(name = "global-xrefs", required = true)
+    public GlobalXrefs xrefs;
+
+    /**
+     * the header carries no file name: it is the origin, relative to the
+     * base dir, without the suffix; e.g. src/adbuf.c for
+     * src/adbuf_gxrefs.xml
+     */
+    @Override
+    public String getSourceFilename() {
+        final String relativeOrigin = getRelativeOrigin();
+        final String dir = relativeOrigin.substring(0, relativeOrigin.length() - getOrigin().getName().length());
+        return dir + FsAbstraction.stemOf(getOrigin(), FsAbstraction.GXREFS_SUFFIX) + ".c";
+    }
+
+    @Override
+    public File getOriginAnalysisDir() {
+        return getOrigin().getParentFile();
+    }
+
+}
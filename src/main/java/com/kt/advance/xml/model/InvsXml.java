@@ -0,0 +1,87 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.xml.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * invariants of a function, the _invs.xml
+ *
+ * @author artem
+ *
+ */
+@XmlRootElement(name = "c-analysis")
+public class InvsXml extends FunctionLevelAnalysisXml {
+
+    /**
+     * XML c-analysis/function/location-invariants/loc
+     */
+    public static class LocationInvariants {
+        @XmlAttribute(name = "ictxt")
+        public Integer contextIndex;
+
+        @XmlAttribute(name = "ifacts")
+        public String facts;
+    }
+
+    public static class InvDictionary {
+        @XmlElementWrapper(name = "non-relational-value-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> nonRelationalValues = new ArrayList<>();
+
+        @XmlElementWrapper(name = "invariant-fact-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> facts = new ArrayList<>();
+    }
+
+    /**
+     * XML c-analysis/function
+     */
+    public static class InvsFunctionNode {
+        @XmlAttribute(name = "fname")
+        public String fname;
+
+        @XmlElement(name = "inv-dictionary")
+        public InvDictionary dictionary = new InvDictionary();
+
+        @XmlElementWrapper(name = "location-invariants")
+        @XmlElement(name = "loc")
+        public List<LocationInvariants> locations = new ArrayList<>();
+    }
+
+    @XmlElement(name = "function")
+    public InvsFunctionNode function;
+
+    @Override
+    public String getFunctionName() {
+        return this.function.fname != null ? this.function.fname : super.getFunctionName();
+    }
+
+}
@@ -0,0 +1,84 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.xml.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * interface dictionary of a file, the _ixf.xml: s-terms, pre- and
+ * postconditions, postcondition requests and side effects the function apis
+ * refer to
+ */
+@XmlRootElement(name = "c-analysis")
+public class IxfXml extends FileLevelAnalysisXml {
+
+    public static class InterfaceDictionary {
+        @XmlElementWrapper(name = "api-parameter-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> apiParameters = new ArrayList<>();
+
+        @XmlElementWrapper(name = "s-term-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> sterms = new ArrayList<>();
+
+        @XmlElementWrapper(name = "precondition-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> preconditions = new ArrayList<>();
+
+        @XmlElementWrapper(name = "postcondition-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> postconditions = new ArrayList<>();
+
+        @XmlElementWrapper(name = "postrequest-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> postrequests = new ArrayList<>();
+
+        @XmlElementWrapper(name = "sideeffect-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> sideeffects = new ArrayList<>();
+
+        @XmlElementWrapper(name = "lv-property-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> lvProperties = new ArrayList<>();
+
+        @XmlElementWrapper(name = "library-variable-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> libraryVariables = new ArrayList<>();
+    }
+
+    @XmlElement(name = "interface-dictionary", required = true)
+    public InterfaceDictionary dictionary;
+
+    @Override
+    public File getOriginAnalysisDir() {
+        return getOrigin().getParentFile();
+    }
+
+}
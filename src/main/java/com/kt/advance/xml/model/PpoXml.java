@@ -39,30 +39,12 @@ import com.kt.advance.Util;
 @XmlRootElement(name = "c-analysis")
 public class PpoXml extends FunctionLevelAnalysisXml {
 
-    public static class ArgNode {
-        @XmlElement(name = "msg")
-        public MsgNode message;
-    }
-
-    public static class DNode {
-
-        @XmlElementWrapper(name = "amsgs")
-        @XmlElement(name = "arg")
-        public List<ArgNode> args = new ArrayList<>();
-    }
-
     public static class ENode {
         @XmlAttribute(name = "txt")
         public String text;
 
     }
 
-    public static class MsgNode {
-        @XmlAttribute(name = "t")
-        public String text;
-
-    }
-
     /**
      * PPO XML c-analysis/function
      *
@@ -91,8 +73,10 @@ public class PpoXml extends FunctionLevelAnalysisXml {
      *         20:23:19">
      */
     public static class PPONode extends PONodeBase {
-        @XmlElement(name = "d")
-        public DNode d;
+        /*
+         * the <d> diagnostics are not mapped: they are rarely used, see
+         * PO.getDiagnostics()
+         */
 
         @XmlAttribute(name = "deps")
         public String deps;
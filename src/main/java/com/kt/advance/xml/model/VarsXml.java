@@ -0,0 +1,147 @@
+/* -------------------------------------------------------------------
+ * Access to the C Analyzer Analysis Results
+ * Author: Artem Zaborskiy
+ * -------------------------------------------------------------------
+ *
+ * Copyright (c) 2018 Kestrel Technology LLC
+ * http://www.kestreltechnology.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02
+ * -------------------------------------------------------------------
+ */
+package com.kt.advance.xml.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * variables and expressions of a function, the _vars.xml
+ *
+ * @author artem
+ *
+ */
+@XmlRootElement(name = "c-analysis")
+public class VarsXml extends FunctionLevelAnalysisXml {
+
+    public static class XprDictionary {
+        @XmlElementWrapper(name = "numerical-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> numericals = new ArrayList<>();
+
+        @XmlElementWrapper(name = "symbol-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> symbols = new ArrayList<>();
+
+        @XmlElementWrapper(name = "variable-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> variables = new ArrayList<>();
+
+        @XmlElementWrapper(name = "xcst-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> constants = new ArrayList<>();
+
+        @XmlElementWrapper(name = "xpr-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> expressions = new ArrayList<>();
+
+        @XmlElementWrapper(name = "xpr-list-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> expressionLists = new ArrayList<>();
+
+        @XmlElementWrapper(name = "xpr-list-list-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> expressionListLists = new ArrayList<>();
+    }
+
+    public static class VarDictionary {
+        @XmlElementWrapper(name = "allocated-region-data-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> allocatedRegionData = new ArrayList<>();
+
+        @XmlElementWrapper(name = "memory-base-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> memoryBases = new ArrayList<>();
+
+        @XmlElementWrapper(name = "memory-reference-data-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> memoryReferenceData = new ArrayList<>();
+
+        @XmlElementWrapper(name = "constant-value-variable-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> constantValueVariables = new ArrayList<>();
+
+        @XmlElementWrapper(name = "c-variable-denotation-table")
+        @XmlElement(name = "n")
+        public List<IndexedTableNode> variableDenotations = new ArrayList<>();
+
+        @XmlElement(name = "xpr-dictionary")
+        public XprDictionary xprDictionary = new XprDictionary();
+    }
+
+    /**
+     * memory-regions/region: imb="1" index="1"
+     */
+    public static class MemoryRegion {
+        @XmlAttribute(name = "index")
+        public int index;
+
+        @XmlAttribute(name = "imb")
+        public int memoryBase;
+    }
+
+    /**
+     * memory-references/reference: imrd="1" index="1"
+     */
+    public static class MemoryReference {
+        @XmlAttribute(name = "index")
+        public int index;
+
+        @XmlAttribute(name = "imrd")
+        public int referenceData;
+    }
+
+    /**
+     * XML c-analysis/function
+     */
+    public static class VarsFunctionNode {
+        @XmlAttribute(name = "fname")
+        public String fname;
+
+        @XmlElement(name = "var-dictionary")
+        public VarDictionary dictionary = new VarDictionary();
+
+        @XmlElementWrapper(name = "memory-regions")
+        @XmlElement(name = "region")
+        public List<MemoryRegion> memoryRegions = new ArrayList<>();
+
+        @XmlElementWrapper(name = "memory-references")
+        @XmlElement(name = "reference")
+        public List<MemoryReference> memoryReferences = new ArrayList<>();
+    }
+
+    @XmlElement(name = "function")
+    public VarsFunctionNode function;
+
+    @Override
+    public String getFunctionName() {
+        return this.function.fname != null ? this.function.fname : super.getFunctionName();
+    }
+
+}
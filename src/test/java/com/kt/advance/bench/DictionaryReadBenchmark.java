@@ -0,0 +1,65 @@
+package com.kt.advance.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.kt.advance.api.CAnalysis;
+import com.kt.advance.api.CApplication;
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
+import com.kt.advance.api.PPO;
+
+/**
+ * Reading the p2 test analysis for a consumer that needs the PPO locations
+ * only: the read, then the line of every PPO. The _cdict.xml tables the
+ * locations do not refer to are never built.
+ *
+ * run with
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.kt.advance.bench.DictionaryReadBenchmark</code>
+ * ; add <code>-prof gc</code> to the JMH options for the allocation per
+ * read.
+ *
+ * @author artem
+ *
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DictionaryReadBenchmark {
+
+    @Benchmark
+    public CAnalysis locationOnlyRead(Blackhole bh) throws JAXBException {
+        final CAnalysis analysis = POJsonPrinterBenchmark.readAnalysis("xmls/p2");
+        for (final CApplication app : analysis.getApps()) {
+            for (final CFile cfile : app.getCfiles()) {
+                for (final CFunction function : cfile.getCFunctions()) {
+                    for (final PPO ppo : function.getPPOs()) {
+                        bh.consume(ppo.getLocation().getLine());
+                    }
+                }
+            }
+        }
+        return analysis;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DictionaryReadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.kt.advance.bench;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.kt.advance.model.AbstractFactory;
+import com.kt.advance.model.CTypeFactory;
+import com.kt.advance.model.ExpFactory;
+import com.kt.advance.model.PredicatesFactory;
+import com.kt.advance.xml.XMLFileType;
+import com.kt.advance.xml.model.CdictXml;
+import com.kt.advance.xml.model.IndexedTableNode;
+import com.kt.advance.xml.model.PrdXml;
+
+/**
+ * Throughput of the dictionary factories on the sbignum.c tables of the p2
+ * test analysis: one operation builds every row of the table, without
+ * binding.
+ *
+ * run with
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.kt.advance.bench.FactoryBuildBenchmark</code>
+ *
+ * @author artem
+ *
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FactoryBuildBenchmark {
+
+    private static final String DIR = "xmls/p2/semantics/ktadvance";
+
+    @State(Scope.Benchmark)
+    public static class Tables {
+        List<IndexedTableNode> types;
+        List<IndexedTableNode> expressions;
+        List<IndexedTableNode> predicates;
+
+        final CTypeFactory      typeFactory      = new CTypeFactory();
+        final ExpFactory        expFactory       = new ExpFactory();
+        final PredicatesFactory predicateFactory = new PredicatesFactory();
+
+        @Setup(Level.Trial)
+        public void read() {
+            final File dir = new File(FactoryBuildBenchmark.class.getClassLoader().getResource(DIR).getFile());
+            final CdictXml cdict = XMLFileType.getReader(CdictXml.class)
+                    .readXml(new File(dir, "sbignum_cdict.xml"), dir);
+            final PrdXml prd = XMLFileType.getReader(PrdXml.class)
+                    .readXml(new File(dir, "sbignum_prd.xml"), dir);
+
+            types = cdict.cfile.cDictionary.types;
+            expressions = cdict.cfile.cDictionary.expressions;
+            predicates = prd.predicatesDictionary.predicates;
+        }
+    }
+
+    private static <T> void buildAll(AbstractFactory<T> factory, List<IndexedTableNode> rows, Blackhole bh) {
+        for (final IndexedTableNode row : rows) {
+            bh.consume(factory.build(row));
+        }
+    }
+
+    @Benchmark
+    public void buildTypes(Tables tables, Blackhole bh) {
+        buildAll(tables.typeFactory, tables.types, bh);
+    }
+
+    @Benchmark
+    public void buildExpressions(Tables tables, Blackhole bh) {
+        buildAll(tables.expFactory, tables.expressions, bh);
+    }
+
+    @Benchmark
+    public void buildPredicates(Tables tables, Blackhole bh) {
+        buildAll(tables.predicateFactory, tables.predicates, bh);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FactoryBuildBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
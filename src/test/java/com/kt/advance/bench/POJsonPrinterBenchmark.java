@@ -0,0 +1,97 @@
+package com.kt.advance.bench;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.kt.advance.ErrorsBundle;
+import com.kt.advance.ProgressTracker;
+import com.kt.advance.api.CAnalysis;
+import com.kt.advance.api.CAnalysisImpl;
+import com.kt.advance.json.POJsonPrinter;
+import com.kt.advance.xml.model.FsAbstractionImpl;
+
+/**
+ * JSON export of the p2 test analysis.
+ *
+ * <ul>
+ * <li>coldExport: first export of a freshly read model, nothing rendered
+ * yet</li>
+ * <li>warmExport: repeated exports of the same model</li>
+ * </ul>
+ *
+ * run with
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.kt.advance.bench.POJsonPrinterBenchmark</code>
+ *
+ * @author artem
+ *
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class POJsonPrinterBenchmark {
+
+    public static CAnalysis readAnalysis(String testProject) throws JAXBException {
+        final File basedir = new File(
+                POJsonPrinterBenchmark.class.getClassLoader().getResource(testProject).getFile());
+        final CAnalysis cAnalysis = new CAnalysisImpl(new FsAbstractionImpl(basedir), new ErrorsBundle());
+        cAnalysis.read(new ProgressTracker());
+        return cAnalysis;
+    }
+
+    @State(Scope.Thread)
+    public static class FreshModel {
+        CAnalysis analysis;
+
+        @Setup(Level.Invocation)
+        public void read() throws JAXBException {
+            analysis = readAnalysis("xmls/p2");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedModel {
+        CAnalysis analysis;
+
+        @Setup(Level.Trial)
+        public void read() throws JAXBException {
+            analysis = readAnalysis("xmls/p2");
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 10)
+    public String coldExport(FreshModel model) {
+        return POJsonPrinter.toJson(model.analysis);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public String warmExport(SharedModel model) {
+        return POJsonPrinter.toJson(model.analysis);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(POJsonPrinterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
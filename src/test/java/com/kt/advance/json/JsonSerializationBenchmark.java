@@ -0,0 +1,75 @@
+package com.kt.advance.json;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kt.advance.bench.POJsonPrinterBenchmark;
+import com.kt.advance.json.POJsonPrinter.JAnalysis;
+
+/**
+ * Serialization of an already built JAnalysis of the p2 test analysis.
+ *
+ * <ul>
+ * <li>newMapper: a new ObjectMapper per call</li>
+ * <li>sharedWriter: the shared {@link POJsonPrinter#PRETTY_WRITER}</li>
+ * </ul>
+ *
+ * Lives next to POJsonPrinter because the J* classes are package-private.
+ *
+ * run with
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.kt.advance.json.JsonSerializationBenchmark</code>
+ *
+ * @author artem
+ *
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonSerializationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Model {
+        JAnalysis analysis;
+
+        @Setup(Level.Trial)
+        public void read() throws JAXBException {
+            analysis = new JAnalysis(POJsonPrinterBenchmark.readAnalysis("xmls/p2"));
+        }
+    }
+
+    @Benchmark
+    public String newMapper(Model model) throws JsonProcessingException {
+        return new ObjectMapper().writer().withDefaultPrettyPrinter().writeValueAsString(model.analysis);
+    }
+
+    @Benchmark
+    public String sharedWriter(Model model) throws JsonProcessingException {
+        return POJsonPrinter.PRETTY_WRITER.writeValueAsString(model.analysis);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.kt.advance.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class CsrTest {
+
+    /**
+     * 0 -> 1 -> 2 -> 0, 2 -> 3, 3 -> 3, 4 -> 3
+     */
+    private static Csr sample() {
+        return Csr.fromRows(new int[][] { { 1 }, { 2 }, { 0, 3 }, { 3 }, { 3 } });
+    }
+
+    @Test
+    public void testTranspose() {
+        final Csr callers = sample().transpose();
+        assertArrayEquals(new int[] { 2 }, callers.row(0));
+        assertArrayEquals(new int[] { 2, 3, 4 }, callers.row(3));
+        assertArrayEquals(new int[0], callers.row(4));
+    }
+
+    @Test
+    public void testClosure() {
+        final int[] reachable = sample().closure(0);
+        Arrays.sort(reachable);
+        assertArrayEquals(new int[] { 0, 1, 2, 3 }, reachable);
+        assertArrayEquals(new int[] { 3 }, sample().closure(4));
+    }
+
+    @Test
+    public void testComponents() {
+        final int[] c = sample().stronglyConnectedComponents();
+        assertEquals(c[0], c[1]);
+        assertEquals(c[1], c[2]);
+        assertNotEquals(c[2], c[3]);
+        assertNotEquals(c[3], c[4]);
+
+        /* callees first */
+        assertEquals(0, c[3]);
+    }
+
+    @Test
+    public void testDeepChainComponents() {
+        final int n = 200_000;
+        final int[][] rows = new int[n][];
+        for (int i = 0; i < n; i++) {
+            rows[i] = new int[] { (i + 1) % n };
+        }
+        final int[] c = Csr.fromRows(rows).stronglyConnectedComponents();
+        for (int i = 0; i < n; i++) {
+            assertEquals(0, c[i]);
+        }
+    }
+
+}
@@ -15,6 +15,7 @@ import com.kt.TestMode;
 import com.kt.advance.Util;
 import com.kt.advance.api.FsAbstraction;
 import com.kt.advance.xml.model.FsAbstractionImpl;
+import com.kt.advance.xml.model.GxrefsXml;
 
 public class FsAbstractionTest {
 
@@ -35,6 +36,20 @@ public class FsAbstractionTest {
         assertEquals(3, xmls.size());
     }
 
+    @Test
+    public void testGxrefsSourceFilename() {
+        final File basedir = new File("ktadvance");
+
+        final GxrefsXml xml = new GxrefsXml();
+        xml.setBaseDir(basedir);
+
+        xml.setOrigin(new File(basedir, "adbuf_gxrefs.xml"));
+        assertEquals("adbuf.c", xml.getSourceFilename());
+
+        xml.setOrigin(new File(new File(basedir, "src"), "adbuf_gxrefs.xml"));
+        assertEquals("src/adbuf.c", xml.getSourceFilename());
+    }
+
     @Test
     public void testListSemanticsArchives() throws JAXBException {
 
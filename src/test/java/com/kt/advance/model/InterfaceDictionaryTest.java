@@ -0,0 +1,34 @@
+package com.kt.advance.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.kt.advance.xml.model.IndexedTableNode;
+import com.kt.advance.xml.model.IxfXml;
+
+public class InterfaceDictionaryTest {
+
+    private static IndexedTableNode node(int index, String tags, String arguments) {
+        final IndexedTableNode node = new IndexedTableNode();
+        node.index = index;
+        node.tags = tags;
+        node.arguments = arguments;
+        return node;
+    }
+
+    @Test
+    public void testUntaggedEntries() {
+        final IxfXml.InterfaceDictionary xml = new IxfXml.InterfaceDictionary();
+        xml.sterms.add(node(0, "rv", null));
+        xml.sterms.add(node(1, null, null));
+        xml.postconditions.add(node(0, "px,lt", "0,1"));
+        xml.postconditions.add(node(1, null, "0"));
+
+        final InterfaceDictionary dictionary = new InterfaceDictionary(xml, new SymbolTable());
+        assertEquals("s-term 1", dictionary.formatSterm(1));
+        assertEquals("lt(return, s-term 1)", dictionary.formatPostcondition(0));
+        assertEquals("?(return)", dictionary.formatPostcondition(1));
+    }
+
+}
@@ -1,24 +1,44 @@
 package com.kt.advance.model;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import javax.xml.bind.JAXBException;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.kt.advance.ErrorsBundle;
 import com.kt.advance.ProgressTracker;
 import com.kt.advance.api.CAnalysis;
 import com.kt.advance.api.CAnalysisImpl;
+import com.kt.advance.api.CApplication;
+import com.kt.advance.api.CFile;
+import com.kt.advance.api.CFunction;
 import com.kt.advance.api.FsAbstraction;
+import com.kt.advance.api.PPO;
+import com.kt.advance.json.POBinaryPrinter;
+import com.kt.advance.json.POBinaryReader;
 import com.kt.advance.json.POJsonPrinter;
 import com.kt.advance.xml.model.FsAbstractionImpl;
 
 public class JsonExportTest {
 
-    @Test
-    public void testJsonExport() throws JAXBException {
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
 
+    private CAnalysis readP2() throws JAXBException {
         final File basedir = new File(getClass().getClassLoader().getResource("xmls/p2").getFile());
 
         // Create a file system abstraction
@@ -29,9 +49,133 @@ public class JsonExportTest {
 
         // force it to read ALL XMLs
         cAnalysis.read(new ProgressTracker());
+        return cAnalysis;
+    }
+
+    @Test
+    public void testJsonExport() throws JAXBException {
+        POJsonPrinter.toJson(readP2());
+    }
+
+    @Test
+    public void testJsonExportIsDeterministic() throws JAXBException {
+        assertEquals(POJsonPrinter.toJson(readP2()), POJsonPrinter.toJson(readP2()));
+    }
+
+    @Test
+    public void testJsonExportReusesPreviousExport() throws JAXBException, IOException {
+        final File first = tmp.newFile("first.json");
+        POJsonPrinter.toJson(readP2(), first);
+
+        /*
+         * mark every function of the previous export; a reused fragment keeps
+         * the mark. One function gets a stale hash and must be re-rendered.
+         */
+        final ObjectMapper mapper = new ObjectMapper();
+        final JsonNode previous = mapper.readTree(first);
+        ObjectNode stale = null;
+        int functions = 0;
+        for (final JsonNode app : previous.path("apps")) {
+            for (final JsonNode file : app.path("files")) {
+                for (final JsonNode function : file.path("functions")) {
+                    ((ObjectNode) function).put("reused", true);
+                    if (stale == null) {
+                        stale = (ObjectNode) function;
+                        stale.put("hash", "stale");
+                    }
+                    functions++;
+                }
+            }
+        }
+        assertNotNull(stale);
+        final File marked = tmp.newFile("marked.json");
+        mapper.writeValue(marked, previous);
+
+        final File second = tmp.newFile("second.json");
+        POJsonPrinter.toJson(readP2(), second, marked);
+
+        int reused = 0;
+        for (final JsonNode app : mapper.readTree(second).path("apps")) {
+            for (final JsonNode file : app.path("files")) {
+                for (final JsonNode function : file.path("functions")) {
+                    if (function.path("reused").asBoolean()) {
+                        reused++;
+                    }
+                    else {
+                        assertEquals(stale.path("name").asText(), function.path("name").asText());
+                    }
+                }
+            }
+        }
+        assertEquals(functions - 1, reused);
+    }
+
+    @Test
+    public void testBinaryExportRoundTrip() throws JAXBException, IOException {
+        final CAnalysis cAnalysis = readP2();
+        final File file = tmp.newFile("p2.ktpo");
+        POBinaryPrinter.toBinary(cAnalysis, file);
+
+        try (POBinaryReader reader = new POBinaryReader(file)) {
+            int pos = 0;
+            for (final POBinaryReader.FileEntry entry : reader.getFiles()) {
+                pos += entry.poCount;
+            }
+            assertEquals(9160 + 967, pos);
+
+            final CApplication app = cAnalysis.getApps().iterator().next();
+            final CFile cfile = app.getCfiles().iterator().next();
+            final POBinaryReader.FileEntry entry = reader.getFile(cfile.getName());
+            assertNotNull(entry);
+            /* named like the app of the JSON export */
+            assertEquals(app.getProjectDir().getAbsolutePath(), entry.app);
+
+            final List<POBinaryReader.Function> functions = reader.readFile(entry);
+            assertEquals(cfile.getCFunctions().size(), functions.size());
+
+            final CFunction cfunction = cfile.getCFunctions().iterator().next();
+            final POBinaryReader.Function function = functions.get(0);
+            assertEquals(cfunction.getName(), function.name);
+            assertEquals(cfunction.getPPOs().size(), function.ppos.size());
+
+            final PPO ppo = cfunction.getPPOs().iterator().next();
+            final POBinaryReader.Record record = function.ppos.get(0);
+            assertEquals((int) ppo.getId(), record.id);
+            assertEquals(ppo.getStatus().label, record.sts);
+            assertEquals(ppo.getPredicate().express(), record.exp);
+            assertEquals(ppo.getLocation().getLine(), record.line);
+        }
+    }
+
+    private static Map<String, JsonNode> filesByName(JsonNode app) {
+        final Map<String, JsonNode> files = new TreeMap<>();
+        app.path("files").forEach(f -> files.put(f.path("name").asText(), f));
+        return files;
+    }
+
+    @Test
+    public void testStreamingExportMatchesJsonExport() throws JAXBException, IOException {
+        final File expected = tmp.newFile("expected.json");
+        POJsonPrinter.toJson(readP2(), expected);
+
+        final File basedir = new File(getClass().getClassLoader().getResource("xmls/p2").getFile());
+        final CAnalysis streamed = new CAnalysisImpl(new FsAbstractionImpl(basedir), new ErrorsBundle());
+        final File actual = tmp.newFile("streamed.json");
+        POJsonPrinter.streamToJson(streamed, actual, new ProgressTracker());
+
+        final ObjectMapper mapper = new ObjectMapper();
+        final JsonNode expectedApps = mapper.readTree(expected).path("apps");
+        final JsonNode actualApps = mapper.readTree(actual).path("apps");
+        assertEquals(expectedApps.size(), actualApps.size());
 
-        POJsonPrinter.toJson(cAnalysis);
+        for (int i = 0; i < expectedApps.size(); i++) {
+            assertEquals(expectedApps.get(i).path("baseDir"), actualApps.get(i).path("baseDir"));
+            assertEquals(filesByName(expectedApps.get(i)), filesByName(actualApps.get(i)));
+        }
 
+        for (final CApplication app : streamed.getApps()) {
+            assertTrue(app.getCfiles().isEmpty());
+        }
     }
 
 }
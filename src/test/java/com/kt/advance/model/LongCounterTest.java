@@ -0,0 +1,44 @@
+package com.kt.advance.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.kt.advance.LongCounter;
+import com.kt.advance.LongCounter.Key;
+
+public class LongCounterTest {
+
+    @Test
+    public void testParallelInc() {
+        final LongCounter<Key> counter = new LongCounter<>("even", "odd");
+        IntStream.range(0, 1_000_000).parallel()
+                .forEach(i -> counter.inc(Key.of("f" + (i % 3), i % 5), i % 2, 1));
+
+        assertEquals(500_000, counter.total()[0]);
+        assertEquals(500_000, counter.total()[1]);
+        assertEquals(15, counter.rows().size());
+
+        final LongCounter<Key> byFile = counter.groupBy(key -> key.project(0));
+        assertEquals(3, byFile.rows().size());
+        assertEquals(333_334, byFile.get(Key.of("f0"), "even") + byFile.get(Key.of("f0"), "odd"));
+    }
+
+    @Test
+    public void testOutput() throws IOException {
+        final LongCounter<Key> counter = new LongCounter<>("ppo", "spo");
+        counter.inc(Key.of("b.c", "open"), "spo", 2);
+        counter.inc(Key.of("a.c", "safe"), "ppo", 1);
+
+        assertEquals("key,ppo,spo\na.c,safe,1,0\nb.c,open,0,2\n", counter.toCsv());
+
+        final StringWriter json = new StringWriter();
+        counter.writeJson(json);
+        assertEquals("[{\"key\":[\"a.c\",\"safe\"],\"value\":[1,0]},{\"key\":[\"b.c\",\"open\"],\"value\":[0,2]}]",
+                     json.toString());
+    }
+}
@@ -2,6 +2,7 @@ package com.kt.advance.model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -110,4 +111,43 @@ public class PredicatesFactoryTest {
         }
     }
 
+    @Test
+    public void testPartialExpressionIsNotCached() {
+        final ExpFactory ef = new ExpFactory();
+        final CFileImpl deep = mock(CFileImpl.class);
+        final CType ctype = mock(CType.class);
+        when(deep.getType(1)).thenReturn(ctype);
+
+        /* unop chain 100 -> 101 -> ... deeper than the render depth */
+        final int first = 100;
+        final int last = first + MemoizedIndexed.MAX_RENDER_DEPTH + 10;
+        final CExpression leaf = mock(CExpression.class);
+        when(leaf.toString()).thenReturn("A");
+        when(deep.getExression(last + 1)).thenReturn(leaf);
+        final CExpression[] chain = new CExpression[last + 1];
+        for (int i = last; i >= first; i--) {
+            final IndexedTableNode node = new IndexedTableNode();
+            node.index = i;
+            node.arguments = (i + 1) + ",1";
+            node.tags = "unop,neg";
+            chain[i] = ef.build(node);
+            when(deep.getExression(i)).thenReturn(chain[i]);
+        }
+        for (int i = first; i <= last; i++) {
+            chain[i].bind(deep);
+        }
+
+        final IndexedTableNode node = new IndexedTableNode();
+        node.index = 1;
+        node.arguments = "" + first;
+        node.tags = "nn";
+        final CPOPredicate prd = new PredicatesFactory().build(node);
+        prd.bind(deep);
+        assertTrue(prd.express().contains(MemoizedIndexed.ELIDED));
+
+        /* the lower half renders in full on its own; the predicate renders again */
+        chain[first + 50].toString();
+        assertTrue(!prd.express().contains(MemoizedIndexed.ELIDED));
+    }
+
 }
@@ -1,42 +1,70 @@
 package com.kt.advance.model;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import javax.xml.bind.JAXBException;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.kt.TestMode;
 import com.kt.advance.ErrorsBundle;
-import com.kt.advance.MapCounterInt;
+import com.kt.advance.LongCounter;
+import com.kt.advance.LongCounter.Key;
 import com.kt.advance.ProgressTracker;
+import com.kt.advance.api.Assumption;
+import com.kt.advance.api.Assumption.AssumptionTypeCode;
 import com.kt.advance.api.CAnalysis;
 import com.kt.advance.api.CAnalysisImpl;
 import com.kt.advance.api.CApplication;
 import com.kt.advance.api.CFile;
 import com.kt.advance.api.CFunction;
 import com.kt.advance.api.CFunctionSiteSPOs;
+import com.kt.advance.api.Definitions.POLevel;
+import com.kt.advance.api.Definitions.POStatus;
+import com.kt.advance.api.Definitions.PredicateType;
 import com.kt.advance.api.FsAbstraction;
+import com.kt.advance.api.PO;
 import com.kt.advance.api.PPO;
 import com.kt.advance.api.SPO;
+import com.kt.advance.model.CTypeFactory.CCompInfo;
 import com.kt.advance.xml.model.FsAbstractionImpl;
 
 public class ReadTest {
 
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
     @Before
     public void init() {
         TestMode.inTestMode = true;
     }
 
-    @Test
-    public void readP2() throws JAXBException {
-
+    private CAnalysis readP2Analysis() throws JAXBException {
         final ClassLoader classLoader = getClass().getClassLoader();
 
         final File basedir = new File(classLoader.getResource("xmls/p2").getFile());
@@ -49,6 +77,13 @@ public class ReadTest {
 
         // force it to read ALL XMLs
         cAnalysis.read(new ProgressTracker());
+        return cAnalysis;
+    }
+
+    @Test
+    public void readP2() throws JAXBException {
+
+        final CAnalysis cAnalysis = readP2Analysis();
 
         for (final CApplication app : cAnalysis.getApps()) {
 
@@ -67,7 +102,481 @@ public class ReadTest {
 
         validateCFiles(cAnalysis);
         validatePONumber(cAnalysis);
+        validateDelegationGraph(cAnalysis);
+        validateGlobalXrefs(cAnalysis);
+        validateCallGraph(cAnalysis);
+        validateLineIndex(cAnalysis);
+        validatePOIndex(cAnalysis);
+        validateQuery(cAnalysis);
+        validateTextIndex(cAnalysis);
+        validateDependencies(cAnalysis);
+        validateInvariants(cAnalysis);
+        validateVariables(cAnalysis);
+        validateContexts(cAnalysis);
+        validateInterfaceDictionaries(cAnalysis);
+        validateDiagnostics(cAnalysis);
+        validateTimeIndex(cAnalysis);
+
+    }
+
+    @Test
+    public void readBrokenFunctionXmls() throws JAXBException, IOException {
+        final File basedir = temp.newFolder("p2");
+        FileUtils.copyDirectory(new File(getClass().getClassLoader().getResource("xmls/p2").getFile()), basedir);
+
+        final File functionDir = new File(basedir, "semantics/ktadvance/adbuf");
+        FileUtils.write(new File(functionDir, "adbuf_adbuf_addchar_invs.xml"), "<c-analysis>", StandardCharsets.UTF_8);
+        FileUtils.write(new File(functionDir, "adbuf_adbuf_addchar_vars.xml"), "<c-analysis>", StandardCharsets.UTF_8);
+
+        final CAnalysis cAnalysis = new CAnalysisImpl(new FsAbstractionImpl(basedir), new ErrorsBundle());
+        cAnalysis.read(new ProgressTracker());
+        final int errorsBefore = cAnalysis.getErrors().getErrorsCount();
+
+        final CFunction function = cAnalysis.getApps().iterator().next()
+                .getCFileStrictly("adbuf.c")
+                .getCFunctionStrictly("adbuf_addchar");
+        assertTrue(function.getInvariants() == InvariantTable.EMPTY);
+        assertTrue(function.getVariables() == VarDictionary.EMPTY);
+        assertEquals(errorsBefore + 2, cAnalysis.getErrors().getErrorsCount());
+    }
+
+    @Test
+    public void readDictionariesLazily() throws JAXBException {
+        final CAnalysis cAnalysis = readP2Analysis();
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final CFileImpl adbuf = (CFileImpl) app.getCFileStrictly("adbuf.c");
+        assertTrue(!adbuf.hasExpressions());
+
+        final PPO ppo = adbuf.getCFunctionStrictly("adbuf_addchar").getPPOs().iterator().next();
+        assertNotNull(ppo.getLocation());
+        assertTrue(!adbuf.hasExpressions());
+
+        assertNotNull(ppo.getPredicate().express());
+        assertTrue(adbuf.hasExpressions());
+
+        /* bound concurrently, all tables at once */
+        final CFileImpl sbignum = (CFileImpl) app.getCFileStrictly("sbignum.c");
+        sbignum.materializeDictionary();
+        assertTrue(sbignum.hasExpressions());
+    }
+
+    /**
+     * lookups racing the materialization of the same file, all released at
+     * once; renders as a file read one lookup at a time does
+     */
+    @Test(timeout = 120000)
+    public void materializeWhileLookingUp() throws Exception {
+        final CFile sequential = readP2Analysis().getApps().iterator().next().getCFileStrictly("sbignum.c");
+        final CFile concurrent = readP2Analysis().getApps().iterator().next().getCFileStrictly("sbignum.c");
+
+        final List<CFunction> functions = new ArrayList<>(concurrent.getCFunctions());
+        final ExecutorService executor = Executors.newFixedThreadPool(functions.size() + 1);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> tasks = new ArrayList<>();
+            tasks.add(executor.submit(() -> {
+                start.await();
+                ((CFileImpl) concurrent).materializeDictionary();
+                return null;
+            }));
+            for (final CFunction function : functions) {
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    function.getPPOs().forEach(ppo -> ppo.getPredicate().express());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (final CFunction function : sequential.getCFunctions()) {
+            final CFunction other = concurrent.getCFunctionStrictly(function.getName());
+            for (final PPO ppo : function.getPPOs()) {
+                assertEquals(ppo.getPredicate().express(),
+                             ((CFunctionImpl) other).getPPO(ppo.getId()).getPredicate().express());
+            }
+        }
+    }
+
+    private void validateDiagnostics(final CAnalysis cAnalysis) {
+        final CFile adbuf = cAnalysis.getApps().iterator().next().getCFileStrictly("adbuf.c");
+
+        final CFunction addLong = adbuf.getCFunctionStrictly("adbuf_add_long");
+        final PO ppo = ppo(addLong, 19);
+        assertEquals("offset size 28 is less than the size of s ((32 * 1))", ppo.getExplaination());
+        assertEquals("[2]:stack variable s; size (in bytes): (32 * 1) and offset 28",
+                     ppo.getDiagnostics().getArgumentMessages().get(2).get(0));
+        assertEquals(3, ppo.getDiagnostics().getArgumentMessages().get(2).size());
+        assertTrue(ppo(addLong, 18).getDiagnostics().isEmpty());
+
+        final PO withInvariants = ppo(adbuf.getCFunctionStrictly("adbuf_addchar"), 39);
+        assertEquals(1, withInvariants.getDiagnostics().getMessages().size());
+        assertArrayEquals(new int[] { 44 }, withInvariants.getDiagnostics().getInvariants().get(4));
+
+        final SPO spo = adbuf.getCFunctionStrictly("adbuf_cat").getCallsites().stream()
+                .flatMap(site -> site.getSpos().stream())
+                .filter(s -> s.getId() == 5)
+                .findFirst().get();
+        assertArrayEquals(new int[] { 35 }, spo.getDiagnostics().getInvariants().get(1));
+    }
+
+    private void validateTimeIndex(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final POTimeIndex index = app.getTimeIndex();
+
+        final CFunction addLong = app.getCFileStrictly("adbuf.c").getCFunctionStrictly("adbuf_add_long");
+        assertEquals("2018-05-02 13:02:46", Timestamps.format(ppo(addLong, 18).getTimestamp()));
+        assertEquals(Timestamps.NONE, ppo(addLong, 40).getTimestamp());
+
+        final int since = Timestamps.parse("2018-05-02 13:15:00");
+        final Set<PO> expected = new HashSet<>();
+        for (final CFile cfile : app.getCfiles()) {
+            for (final CFunction f : cfile.getCFunctions()) {
+                f.getPPOs().stream().filter(p -> p.getTimestamp() >= since).forEach(expected::add);
+                for (final CFunctionSiteSPOs site : f.getCallsites()) {
+                    site.getSpos().stream().filter(p -> p.getTimestamp() >= since).forEach(expected::add);
+                }
+                for (final CFunctionSiteSPOs site : f.getReturnsites()) {
+                    site.getSpos().stream().filter(p -> p.getTimestamp() >= since).forEach(expected::add);
+                }
+            }
+        }
+        final List<PO> changed = index.getPOsSince(since);
+        assertTrue(!expected.isEmpty());
+        assertEquals(expected.size(), changed.size());
+        assertEquals(expected, new HashSet<>(changed));
+        assertTrue(index.getPOsSince(addLong, since).isEmpty());
+
+        final List<CFile> files = index.getFilesProducedAfter(Timestamps.parse("04/25/2018 22:51:47"));
+        assertEquals(2, files.size());
+        assertEquals(Timestamps.parse("04/25/2018 22:51:51"), files.get(1).getTimestamp());
+    }
+
+    private static PO ppo(CFunction function, int id) {
+        return function.getPPOs().stream().filter(p -> p.getId() == id).findFirst().get();
+    }
+
+    private void validateInterfaceDictionaries(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final CFile sbignum = app.getCFileStrictly("sbignum.c");
+        final CFunctionImpl setStr = (CFunctionImpl) sbignum.getCFunctionStrictly("mpz_set_str");
+        final AssumptionType pc = setStr.getAssumptionType(4);
+        assertEquals(AssumptionTypeCode.pc, pc.type);
+
+        /* toString does not read the _ixf.xml, nor change once it is read */
+        assertEquals("post-request " + pc.postRequestIndex + " :pc", pc.toString());
+        assertTrue(!((CFileImpl) sbignum).hasInterfaceDictionary());
+
+        assertTrue(sbignum.getInterfaceDictionary() == sbignum.getInterfaceDictionary());
+        assertEquals("post-request " + pc.postRequestIndex + " :pc", pc.toString());
+        assertEquals("lt(return, 256) of gvid 1682", pc.getPostRequest().toString());
+        assertEquals(1682, pc.getPostRequest().callee);
+        assertEquals("lt(return, 256)", pc.getPostRequest().getPostconditionText());
+        assertEquals("ge(return, 0)", setStr.getAssumptionType(6).getPostRequest().getPostconditionText());
+
+        final AssignmentDictionary assignments = app.getCFileStrictly("adbuf.c").getAssignments();
+        assertEquals("adbuf_addchar", assignments.getFunctionName(3));
+        assertEquals(27, assignments.getAssignmentCount());
+        assertEquals("f,left", assignments.getTable(AssignmentDictionary.TableName.ASSIGNMENT).getTag(7));
+    }
+
+    private void validateContexts(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final CFile adbuf = app.getCFileStrictly("adbuf.c");
+        final ContextTable contexts = adbuf.getContexts();
+        assertTrue(contexts == adbuf.getContexts());
+
+        assertArrayEquals(new int[] { 1, 7, 8, 9 }, contexts.getCfgPath(5));
+        assertEquals("stmt", contexts.getNodeTag(1));
+        assertEquals(6, contexts.getNodeData(1));
+        assertTrue(contexts.describe(5).startsWith("stmt:6/if-then/stmt:7/instr:0 | "));
+
+        for (final CFunction function : adbuf.getCFunctions()) {
+            for (final PPO ppo : function.getPPOs()) {
+                assertTrue(contexts.getCfgPath(ppo.getType().contexId).length > 0);
+            }
+        }
+    }
+
+    private void validateVariables(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final CFunction addchar = app.getCFileStrictly("adbuf.c").getCFunctionStrictly("adbuf_addchar");
+        final VarDictionary vars = addchar.getVariables();
+        assertTrue(vars == addchar.getVariables());
+
+        assertEquals("return", vars.getSymbolName(7));
+        assertEquals("2", vars.getNumerical(3));
+        final IndexedTable xpr = vars.getTable(VarDictionary.TableName.XPR);
+        assertEquals(20, xpr.size());
+        assertEquals("x,plus", xpr.getTag(11));
+        assertArrayEquals(new String[] { "x", "plus" }, xpr.getTags(11));
+        assertArrayEquals(new int[] { 2, 3 }, xpr.getArgs(11));
+        assertEquals(null, vars.getTable(VarDictionary.TableName.MEMORY_REFERENCE_DATA).getTag(1));
+        assertEquals(1, vars.getMemoryBase(1));
+        assertEquals(7, vars.getMemoryReferenceData(7));
+
+        for (final CFile cfile : app.getCfiles()) {
+            for (final CFunction function : cfile.getCFunctions()) {
+                assertTrue(function.getVariables().getTable(VarDictionary.TableName.SYMBOL).size() > 0);
+            }
+        }
+    }
+
+    private void validateInvariants(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final CFunction first = app.getCfiles().iterator().next().getCFunctions().iterator().next();
+        final InvariantTable table = first.getInvariants();
+        assertTrue(table.size() > 0);
+        assertTrue(table == first.getInvariants());
+        for (final int context : table.getContexts()) {
+            assertTrue(table.getLocationInvariants(context).size() > 0);
+        }
+
+        final int errorsBefore = cAnalysis.getErrors().getErrorsCount();
+        app.readInvariants(new ProgressTracker());
+        assertEquals(errorsBefore, cAnalysis.getErrors().getErrorsCount());
+
+        int resolved = 0;
+        for (final CFile cfile : app.getCfiles()) {
+            for (final CFunction function : cfile.getCFunctions()) {
+                for (final PPO ppo : function.getPPOs()) {
+                    final List<Invariant> invariants = function.getInvariants().of(ppo);
+                    assertEquals(ppo.getDeps().invs.length, invariants.size());
+                    for (final Invariant inv : invariants) {
+                        assertNotNull(inv.kind);
+                        if (inv.kind == Invariant.Kind.NON_RELATIONAL) {
+                            assertNotNull(inv.value);
+                        }
+                    }
+                    resolved += invariants.size();
+                }
+            }
+        }
+        assertTrue(resolved > 0);
+    }
+
+    private void validateDependencies(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        int dependent = 0;
+        for (final CFile cfile : app.getCfiles()) {
+            for (final CFunction function : cfile.getCFunctions()) {
+                final FunctionDependencies deps = function.getDependencies();
+                assertTrue(deps == function.getDependencies());
+
+                for (final Assumption assumption : function.getApiAssumptions()) {
+                    final List<PO> dependents = deps.toPOs(deps.getDependents(assumption));
+                    for (final PPO ppo : function.getPPOs()) {
+                        if (Arrays.asList(assumption.ppos).contains(ppo.getId())) {
+                            assertTrue(dependents.contains(ppo));
+                            assertTrue(deps.getApiAssumptions(ppo).get(assumption.index));
+                        }
+                    }
+                    dependent += dependents.size();
+                }
+
+                for (final PPO ppo : function.getPPOs()) {
+                    final BitSet types = deps.getAssumptionTypes(ppo);
+                    assertEquals(new HashSet<>(ppo.getDeps().ids).size(), types.cardinality());
+                    for (int t = types.nextSetBit(0); t >= 0; t = types.nextSetBit(t + 1)) {
+                        assertTrue(deps.getDependentsOfAssumptionType(t).get(deps.getIndex(ppo)));
+                    }
+                    assertTrue(deps.getRelated(ppo).get(deps.getIndex(ppo)));
+                }
+            }
+        }
+        assertTrue(dependent > 0);
+    }
+
+    private void validateTextIndex(final CAnalysis cAnalysis) {
+        final POIndex index = cAnalysis.getPOIndex();
+        final POTextIndex text = cAnalysis.getTextIndex();
+        assertTrue(text.getTokenCount() > 0);
+
+        final PO sample = index.getPO(index.size() / 2);
+        final List<String> tokens = POTextIndex.tokens(sample.getPredicate().express());
+        final String token = tokens.get(tokens.size() - 1);
+
+        final BitSet expected = new BitSet();
+        for (int id = 0; id < index.size(); id++) {
+            if (POTextIndex.tokens(index.getPO(id).getPredicate().express()).contains(token)) {
+                expected.set(id);
+            }
+        }
+        final BitSet found = text.find(token);
+        final BitSet missing = (BitSet) expected.clone();
+        missing.andNot(found);
+        assertTrue(missing.isEmpty());
+        assertTrue(found.get(index.getId(sample)));
+
+        final BitSet prefixed = text.findPrefix(token.substring(0, 1));
+        assertEquals(found.cardinality(), POIndex.countAll(found, prefixed));
+        assertTrue(text.search(sample.getPredicate().express()).get(index.getId(sample)));
+        assertTrue(text.search(token).cardinality() >= found.cardinality());
+    }
 
+    private void validateQuery(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final CFile cfile = app.getCfiles().iterator().next();
+        final CFunction function = cfile.getCFunctions().iterator().next();
+
+        int open = 0;
+        int openInFunction = 0;
+        for (final CFile f : app.getCfiles()) {
+            for (final CFunction fn : f.getCFunctions()) {
+                for (final PPO ppo : fn.getPPOs()) {
+                    if (ppo.getStatus() == POStatus.open) {
+                        open++;
+                        if (fn == function) {
+                            openInFunction++;
+                        }
+                    }
+                }
+            }
+        }
+
+        assertEquals(open, POQuery.from(cAnalysis).status(POStatus.open).level(POLevel.PRIMARY).count());
+        assertEquals(openInFunction, POQuery.from(cAnalysis)
+                .status(POStatus.open)
+                .function(function.getName())
+                .where(po -> po instanceof PPO)
+                .count());
+
+        final int line = function.getLocation().getLine();
+        final String filename = function.getLocation().getFilename();
+        final List<PO> onLines = POQuery.from(cAnalysis).lines(filename, line, line + 10).list();
+        assertEquals(app.getLineIndex().count(filename, line, line + 10), onLines.size());
+        assertEquals(app.getLineIndex().count(filename), POQuery.from(cAnalysis).sourceFile(filename).count());
+
+        final Map<POStatus, Long> byStatus = POQuery.from(cAnalysis).file(cfile).countBy(PO::getStatus);
+        assertEquals(cAnalysis.getPOIndex().get(cfile).cardinality(),
+                     byStatus.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private void validatePOIndex(final CAnalysis cAnalysis) {
+        final POIndex index = cAnalysis.getPOIndex();
+        assertEquals(9160 + 967, index.size());
+        assertEquals(9160, index.get(POLevel.PRIMARY).cardinality());
+
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        assertEquals(index.size(), index.get(app).cardinality());
+
+        for (final POStatus status : POStatus.values()) {
+            for (final PredicateType type : PredicateType.values()) {
+                final long expected = index.toPOs(index.getAll()).stream()
+                        .filter(po -> po.getStatus() == status && po.getPredicate().type == type)
+                        .count();
+                assertEquals(expected, POIndex.countAll(index.get(status), index.get(type)));
+            }
+        }
+
+        for (final CFile cfile : app.getCfiles()) {
+            for (final CFunction function : cfile.getCFunctions()) {
+                final BitSet ids = index.get(function);
+                assertEquals(function.getPPOs().size(), POIndex.countAll(ids, index.get(POLevel.PRIMARY)));
+                for (final PPO ppo : function.getPPOs()) {
+                    assertTrue(ids.get(index.getId(ppo)));
+                    assertTrue(index.get(cfile).get(index.getId(ppo)));
+                }
+            }
+        }
+    }
+
+    private void validateLineIndex(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final POLineIndex index = app.getLineIndex();
+
+        int total = 0;
+        for (final String filename : index.getFilenames()) {
+            total += index.count(filename);
+        }
+        assertEquals(9160 + 967, total);
+
+        for (final CFile cfile : app.getCfiles()) {
+            for (final CFunction function : cfile.getCFunctions()) {
+                for (final PPO ppo : function.getPPOs()) {
+                    final String filename = ppo.getLocation().getFilename();
+                    final int line = ppo.getLocation().getLine();
+                    assertTrue(index.getPOs(filename, line).contains(ppo));
+                    assertTrue(index.getPOs(filename, line - 5, line + 5).contains(ppo));
+                    assertEquals(index.getPOs(filename, line - 5, line + 5).size(),
+                                 index.count(filename, line - 5, line + 5));
+                }
+            }
+        }
+    }
+
+    private void validateCallGraph(final CAnalysis cAnalysis) {
+        final CallGraph graph = cAnalysis.getApps().iterator().next().getCallGraph();
+        assertTrue(graph.getEdgeCount() > 0);
+
+        for (int id = 0; id < graph.size(); id++) {
+            final CFunction caller = graph.getFunction(id);
+            for (final CFunction callee : graph.getCallees(caller)) {
+                assertTrue(graph.getCallers(callee).contains(caller));
+                assertTrue(graph.getReachable(caller).contains(callee));
+            }
+        }
+        System.out.println("call graph: " + graph.size() + " functions, " + graph.getEdgeCount() + " edges, "
+                + graph.getComponentCount() + " components, " + graph.getUnresolvedCallsites()
+                + " unresolved callsites");
+    }
+
+    private void validateGlobalXrefs(final CAnalysis cAnalysis) {
+        final CApplication app = cAnalysis.getApps().iterator().next();
+        final GlobalXrefs xrefs = app.getGlobalXrefs();
+        assertTrue(xrefs.getFunctionCount() > 0);
+
+        int resolved = 0;
+        for (final CFile cfile : app.getCfiles()) {
+            for (final CFunction function : cfile.getCFunctions()) {
+                for (final CFunctionSiteSPOs callsite : function.getCallsites()) {
+                    if (callsite.getCallee() == null) {
+                        continue;
+                    }
+                    final CFunction callee = xrefs.resolve(cfile, callsite.getCallee());
+                    if (callee != null) {
+                        assertEquals(callsite.getCallee().name, callee.getName());
+                        resolved++;
+                    }
+                }
+            }
+        }
+        assertTrue(resolved > 0);
+        System.out.println("callsites resolved through gxrefs: " + resolved);
+
+        // gckey 51 is ckey 39 in sbignum.c and ckey 19 in sbignum-tables.c
+        final CCompInfo shared = ((CFileImpl) app.getCFileStrictly("sbignum.c")).getStruct(39);
+        assertSame(shared, ((CFileImpl) app.getCFileStrictly("sbignum-tables.c")).getStruct(19));
+        assertEquals(51, shared.ckey.intValue());
+        assertNotSame(((CFileImpl) app.getCFileStrictly("adbuf.c")).getStruct(38),
+            ((CFileImpl) app.getCFileStrictly("sbignum.c")).getStruct(38));
+    }
+
+    private void validateDelegationGraph(final CAnalysis cAnalysis) {
+        final DelegationGraph graph = cAnalysis.getApps().iterator().next().getDelegationGraph();
+        assertEquals(9160 + 967, graph.size());
+        assertTrue(graph.getEdgeCount() > 0);
+
+        int backward = 0;
+        for (int node = 0; node < graph.size(); node++) {
+            final PO po = graph.getPO(node);
+            assertEquals(node, graph.getNode(po));
+
+            for (final int target : graph.getSuccessors(node)) {
+                final SPO spo = (SPO) graph.getPO(target);
+                assertEquals(graph.getFunction(node).getName(), spo.getSite().getCallee().name);
+                assertTrue(graph.getTransitivelyDelegatedTo(po).contains(spo));
+                assertTrue(graph.getTransitivelyDelegatedFrom(spo).contains(po));
+            }
+            backward += graph.getPredecessors(node).length;
+        }
+        assertEquals(graph.getEdgeCount(), backward);
+        System.out.println("delegation edges: " + graph.getEdgeCount());
     }
 
     private void checkPO(PPO ppo) {
@@ -112,11 +621,10 @@ public class ReadTest {
         }
     }
 
-    private MapCounterInt<String> validatePONumber(final CAnalysis cAnalysis) {
-        final MapCounterInt<String> stats = new MapCounterInt<>(3);
+    private LongCounter<String> validatePONumber(final CAnalysis cAnalysis) {
+        final LongCounter<String> stats = new LongCounter<>("PPO", "SPO");
 
-        stats.inc("total", "PPO", 0);
-        stats.inc("total", "SPO", 0);
+        stats.touch("total");
 
         // Iterate CApplications
         for (final CApplication app : cAnalysis.getApps()) {
@@ -127,6 +635,9 @@ public class ReadTest {
                 // iterate CFunctions
                 for (final CFunction function : file.getCFunctions()) {
 
+                    final Map<PPO, Set<SPO>> associated = function.getAssociatedSpos();
+                    assertEquals(function.getPPOs().size(), associated.size());
+
                     // Iterate PPOs
                     function.getPPOs().stream().forEach(
                                                         /* do smth about ppo */
@@ -140,6 +651,9 @@ public class ReadTest {
                                                             // iterate over associated SPOs
                                                             final Set<SPO> associatedSpos = ppo
                                                                     .getAssociatedSpos(function);
+                                                            assertEquals(scanAssociatedSpos(ppo, function),
+                                                                         associatedSpos);
+                                                            assertEquals(associatedSpos, associated.get(ppo));
                                                         });
 
                     // Iterate callsites
@@ -173,13 +687,41 @@ public class ReadTest {
             }
         }
 
-        assertEquals(9160, (int) stats.get("total", 0));
-        assertEquals(967, (int) stats.get("total", 1));
+        assertEquals(9160, stats.get("total", "PPO"));
+        assertEquals(967, stats.get("total", "SPO"));
+
+        final LongCounter<Key> byFile = POStatistics.count(cAnalysis, POStatistics.Dimension.FILE,
+                                                          POStatistics.Dimension.STATUS);
+        assertEquals(9160, byFile.total()[0]);
+        assertEquals(967, byFile.total()[1]);
+        assertEquals(byFile.total()[0], byFile.groupBy(key -> key.project(1)).total()[0]);
 
-        System.out.println(stats.toTsv());
+        System.out.println(stats.toSv("\t"));
         return stats;
     }
 
+    /**
+     * associated SPOs by scanning all callsites, as it was done before the
+     * index
+     */
+    private static Set<SPO> scanAssociatedSpos(PPO ppo, CFunction function) {
+        final Set<Integer> apiIds = ppo.getDeps().ids.stream()
+                .map(id -> ((CFunctionImpl) function).getAssumptionType(id))
+                .filter(assumptionType -> assumptionType.type == AssumptionTypeCode.aa)
+                .map(assumptionType -> assumptionType.apiId)
+                .collect(Collectors.toSet());
+
+        final Set<SPO> collected = new HashSet<>();
+        for (final CFunctionSiteSPOs callsite : function.getCallsites()) {
+            for (final SPO spo : callsite.getSpos()) {
+                if (apiIds.contains(spo.getType().getExternalId())) {
+                    collected.add(spo);
+                }
+            }
+        }
+        return collected;
+    }
+
     String relativize(FsAbstraction fsAbstraction, File f) {
         return fsAbstraction.getBaseDir().toPath().relativize(f.toPath()).toString();
     }
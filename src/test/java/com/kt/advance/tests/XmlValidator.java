@@ -31,7 +31,10 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
 import javax.xml.bind.JAXBException;
 
@@ -42,7 +45,7 @@ import org.slf4j.LoggerFactory;
 
 import com.kt.TestMode;
 import com.kt.advance.ErrorsBundle;
-import com.kt.advance.MapCounterInt;
+import com.kt.advance.LongCounter;
 import com.kt.advance.ProgressTracker;
 import com.kt.advance.api.CAnalysisImpl;
 import com.kt.advance.api.CApplication;
@@ -115,8 +118,8 @@ public class XmlValidator {
         ///////////////////////
 
         // final int validFiles = 0;
-        final MapCounterInt<String> stats = makeStatsTable();
-        final MapCounterInt<String> funcStats = new MapCounterInt<>(3 + 2 * Definitions.POStatus.values().length);
+        final LongCounter<String> stats = makeStatsTable();
+        final LongCounter<String> funcStats = new LongCounter<>(columns("functions", "PPO"));
         final int cnt = 0;
         // building stats
         for (final CFile cfile : app.getCfiles()) {
@@ -256,22 +259,27 @@ public class XmlValidator {
         LOG.info(LINE);
     }
 
-    MapCounterInt<String> makeStatsTable() {
-        final MapCounterInt<String> stats = new MapCounterInt<>(2 +
-                Definitions.POStatus.values().length * 2 + Definitions.POType.values().length);
-
-        stats.inc(TOTAL, "PPO", 0);
-        stats.inc(TOTAL, "SPO", 0);
-        for (final Definitions.POStatus s : Definitions.POStatus.values()) {
-            stats.inc(TOTAL, SPO_ + s.label, 0);
-            stats.inc(TOTAL, PPO_ + s.label, 0);
+    LongCounter<String> makeStatsTable() {
+        final List<String> columns = new ArrayList<>(Arrays.asList(columns("PPO", "SPO")));
+        for (final Definitions.POType s : Definitions.POType.values()) {
+            columns.add(s.getLabel());
         }
 
-        for (final Definitions.POType s : Definitions.POType.values()) {
-            stats.inc(TOTAL, s.getLabel(), 0);
+        final LongCounter<String> stats = new LongCounter<>(columns.toArray(new String[columns.size()]));
+        stats.touch(TOTAL);
+        return stats;
+    }
 
+    /**
+     * the given columns, then PPO and SPO counts by status
+     */
+    private static String[] columns(String... first) {
+        final List<String> columns = new ArrayList<>(Arrays.asList(first));
+        for (final Definitions.POStatus s : Definitions.POStatus.values()) {
+            columns.add(PPO_ + s.label);
+            columns.add(SPO_ + s.label);
         }
-        return stats;
+        return columns.toArray(new String[columns.size()]);
     }
 
     void verifyPPO(final PpoXml ppos, String filename) {